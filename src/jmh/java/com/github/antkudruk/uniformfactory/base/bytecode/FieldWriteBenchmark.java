@@ -0,0 +1,118 @@
+package com.github.antkudruk.uniformfactory.base.bytecode;
+
+import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.jar.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writes of private origin fields by generated setters with the
+ * reflective sequence setters used to generate before:
+ * {@code setAccessible(true)}, {@code Field.set}, {@code setAccessible(false)}.
+ * A write of a public field by a generated setter is the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldWriteBenchmark {
+
+    private static final String ORIGIN_FIELD = "origin";
+
+    public interface IntSetter {
+        void set(int value);
+    }
+
+    public interface ReferenceSetter {
+        void set(String value);
+    }
+
+    @SuppressWarnings("unused")
+    public static class Origin {
+        public int publicInt;
+        private int privateInt;
+        private String privateReference;
+    }
+
+    private final Origin origin = new Origin();
+    private int intValue = 42;
+    private String referenceValue = "value";
+
+    private IntSetter publicIntSetter;
+    private IntSetter privateIntSetter;
+    private ReferenceSetter privateReferenceSetter;
+    private Field privateIntField;
+    private Field privateReferenceField;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        publicIntSetter = generate(IntSetter.class, "publicInt");
+        privateIntSetter = generate(IntSetter.class, "privateInt");
+        privateReferenceSetter = generate(ReferenceSetter.class, "privateReference");
+        privateIntField = Origin.class.getDeclaredField("privateInt");
+        privateReferenceField = Origin.class.getDeclaredField("privateReference");
+    }
+
+    @Benchmark
+    public void publicIntDirect() {
+        publicIntSetter.set(intValue);
+    }
+
+    @Benchmark
+    public void privateIntHandle() {
+        privateIntSetter.set(intValue);
+    }
+
+    @Benchmark
+    public void privateIntReflection() throws IllegalAccessException {
+        privateIntField.setAccessible(true);
+        privateIntField.set(origin, intValue);
+        privateIntField.setAccessible(false);
+    }
+
+    @Benchmark
+    public void privateReferenceHandle() {
+        privateReferenceSetter.set(referenceValue);
+    }
+
+    @Benchmark
+    public void privateReferenceReflection() throws IllegalAccessException {
+        privateReferenceField.setAccessible(true);
+        privateReferenceField.set(origin, referenceValue);
+        privateReferenceField.setAccessible(false);
+    }
+
+    private <T> T generate(Class<T> setterType, String fieldName) throws ReflectiveOperationException {
+        FieldDescription field = TypeDescriptionShortcuts
+                .deepFindField(TypeDescriptions.of(Origin.class), fieldName)
+                .orElseThrow(RuntimeException::new);
+        Class<? extends T> type = new ByteBuddy()
+                .subclass(setterType)
+                .defineField(ORIGIN_FIELD, Origin.class, Opcodes.ACC_PUBLIC)
+                .defineMethod("set", void.class, Opcodes.ACC_PUBLIC)
+                .withParameters(field.getType())
+                .intercept(new PureSetterImplementation(ORIGIN_FIELD, field))
+                .make()
+                .load(getClass().getClassLoader())
+                .getLoaded();
+        T setter = type.getConstructor().newInstance();
+        type.getField(ORIGIN_FIELD).set(setter, origin);
+        return setter;
+    }
+}
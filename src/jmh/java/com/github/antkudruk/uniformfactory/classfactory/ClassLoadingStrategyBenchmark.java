@@ -0,0 +1,154 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Compares the time to generate and load wrappers for a batch of new origin
+ * classes with a class loader per origin class, a single class loader per
+ * class factory and the class loaders of the origin classes.
+ *
+ * Auxiliary counters report the metaspace taken by a batch and
+ * the number of class loaders created for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClassLoadingStrategyBenchmark {
+
+    private static final int ORIGIN_CLASS_COUNT = 500;
+    private static final AtomicInteger BATCH = new AtomicInteger();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Marker {
+
+    }
+
+    public interface Wrapper {
+        String getIdentity();
+    }
+
+    @Param({"child", "shared", "lookup"})
+    public String strategy;
+
+    private ClassFactory<Wrapper> classFactory;
+    private List<Class<?>> originClasses;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long metaspaceKilobytes;
+        public long classLoaders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            metaspaceKilobytes = 0;
+            classLoaders = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws ReflectiveOperationException {
+        String packageName = getClass().getPackage().getName() + ".batch" + BATCH.incrementAndGet();
+        Map<String, byte[]> types = new HashMap<>();
+        for (int i = 0; i < ORIGIN_CLASS_COUNT; i++) {
+            types.put(packageName + ".Origin" + i, new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(packageName + ".Origin" + i)
+                    .defineField("id", Long.class, Visibility.PUBLIC)
+                    .annotateField(AnnotationDescription.Builder.ofType(Marker.class).build())
+                    .make()
+                    .getBytes());
+        }
+        ClassLoader originClassLoader = new ByteArrayClassLoader(getClass().getClassLoader(), types);
+        originClasses = new ArrayList<>();
+        for (String name : types.keySet()) {
+            originClasses.add(Class.forName(name, false, originClassLoader));
+        }
+
+        classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getIdentity"), String.class)
+                .setMarkerAnnotation(Marker.class)
+                .addResultTranslator(Long.class, Object::toString)
+                .endMethodDescription()
+                .setClassLoadingStrategy(createStrategy(originClassLoader))
+                .build();
+
+        // Unload the batch of the previous iteration before measuring the metaspace
+        System.gc();
+    }
+
+    @Benchmark
+    public List<Function<?, Wrapper>> buildWrapperFactories(Footprint footprint) throws ClassGeneratorException {
+        long metaspaceBefore = metaspaceUsed();
+        List<Function<?, Wrapper>> result = new ArrayList<>();
+        Map<ClassLoader, Boolean> classLoaders = new IdentityHashMap<>();
+        for (Class<?> originClass : originClasses) {
+            Function<?, Wrapper> classContainer = classFactory.buildWrapperFactory(originClass);
+            result.add(classContainer);
+            classLoaders.put(classContainer.getClass().getClassLoader(), true);
+        }
+        classLoaders.remove(originClasses.get(0).getClassLoader());
+        footprint.metaspaceKilobytes += (metaspaceUsed() - metaspaceBefore) / 1024;
+        footprint.classLoaders += classLoaders.size();
+        return result;
+    }
+
+    private WrapperClassLoadingStrategy createStrategy(ClassLoader originClassLoader) {
+        switch (strategy) {
+            case "child":
+                return new ChildClassLoaderStrategy(originClassLoader);
+            case "shared":
+                return new SharedClassLoaderStrategy(originClassLoader);
+            case "lookup":
+                return LookupClassLoadingStrategy.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    private static long metaspaceUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if ("Metaspace".equals(pool.getName())) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+}
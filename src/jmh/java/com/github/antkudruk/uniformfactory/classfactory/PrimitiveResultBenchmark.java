@@ -0,0 +1,85 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a wrapper method widening a primitive origin result by the
+ * built-in translator, applied in the bytecode, with the same widening by a
+ * custom translator, taking the boxed origin result.
+ * Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveResultBenchmark {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Size {
+    }
+
+    public interface Wrapper {
+        long getSize();
+    }
+
+    public static class Origin {
+        private int size = 100_000;
+
+        @Size
+        public int getSize() {
+            return size++;
+        }
+    }
+
+    private Wrapper builtInTranslator;
+    private Wrapper customTranslator;
+
+    @Setup
+    public void setUp() throws Exception {
+        builtInTranslator = createClassFactory(false).buildWrapperFactory(Origin.class).apply(new Origin());
+        customTranslator = createClassFactory(true).buildWrapperFactory(Origin.class).apply(new Origin());
+    }
+
+    @Benchmark
+    public long builtInTranslator() {
+        return builtInTranslator.getSize();
+    }
+
+    @Benchmark
+    public long customTranslator() {
+        return customTranslator.getSize();
+    }
+
+    private static ClassFactory<Wrapper> createClassFactory(boolean customTranslator) throws NoSuchMethodException {
+        MethodSingletonDescriptor.Builder<Long> descriptor = new MethodSingletonDescriptor.Builder<>(
+                Wrapper.class.getMethod("getSize"),
+                long.class)
+                .setInline(true)
+                .setMarkerAnnotation(Size.class);
+        if (customTranslator) {
+            descriptor.addResultTranslator(Integer.class, Integer::longValue);
+        }
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(descriptor.build())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import com.github.antkudruk.uniformfactory.methodcollection.seletor.MemberSelector;
+import com.github.antkudruk.uniformfactory.methodcollection.seletor.MemberSelectorByAnnotation;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the type description lookups a wrapper class generation makes:
+ * selecting the marked members of the origin class and resolving the
+ * constructor of {@code Object} and the method of {@code Function}.
+ * Descriptions are taken from {@link TypeDescriptions} or created anew for
+ * each lookup, bypassing the cache completely. A new description resolves
+ * its members by reflection again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeDescriptionCacheBenchmark {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Marker {
+        String value();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Origin {
+        @Marker("a") public String a;
+        @Marker("b") public String b;
+        @Marker("c") public String c;
+        @Marker("d") public String d;
+
+        @Marker("e") public String getE() { return "e"; }
+        @Marker("f") public String getF() { return "f"; }
+        @Marker("g") public String getG() { return "g"; }
+        @Marker("h") public String getH() { return "h"; }
+    }
+
+    private static final MemberSelector MEMBER_SELECTOR = new MemberSelectorByAnnotation(Marker.class);
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Benchmark
+    public void describe(Blackhole blackhole) {
+        TypeDescription originType = describe(Origin.class);
+        for (MethodDescription method : MEMBER_SELECTOR.getMethods(originType)) {
+            blackhole.consume(method.getDeclaredAnnotations().ofType(Marker.class).load().value());
+            blackhole.consume(method.getReturnType().asErasure());
+        }
+        for (FieldDescription field : MEMBER_SELECTOR.getFields(originType)) {
+            blackhole.consume(field.getDeclaredAnnotations().ofType(Marker.class).load().value());
+            blackhole.consume(field.getType().asErasure());
+        }
+        blackhole.consume(describe(Object.class)
+                .getDeclaredMethods()
+                .filter(ElementMatchers.isConstructor())
+                .getOnly());
+        blackhole.consume(describe(Function.class)
+                .getDeclaredMethods()
+                .filter(ElementMatchers.named("apply"))
+                .getOnly());
+    }
+
+    private TypeDescription describe(Class<?> type) {
+        return cached ? TypeDescriptions.of(type) : new TypeDescription.ForLoadedType(type);
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of {@link WrapperFactoryImpl} with different inline cache sizes
+ * for streams of one, two and eight origin classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineCacheBenchmark {
+
+    private static final int STREAM_LENGTH = 1024;
+
+    public interface Wrapper {
+
+    }
+
+    public static class Origin0 { }
+    public static class Origin1 { }
+    public static class Origin2 { }
+    public static class Origin3 { }
+    public static class Origin4 { }
+    public static class Origin5 { }
+    public static class Origin6 { }
+    public static class Origin7 { }
+
+    @Param({"0", "1", "2", "4"})
+    public int inlineCacheSize;
+
+    @Param({"1", "2", "8"})
+    public int originClassCount;
+
+    private WrapperFactory<Wrapper> wrapperFactory;
+    private Object[] origins;
+
+    @Setup
+    public void setUp() throws ClassGeneratorException {
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class).build();
+        wrapperFactory = new WrapperFactoryImpl.Builder<>(classFactory)
+                .setInlineCacheSize(inlineCacheSize)
+                .build();
+
+        Object[] prototypes = {
+                new Origin0(), new Origin1(), new Origin2(), new Origin3(),
+                new Origin4(), new Origin5(), new Origin6(), new Origin7()
+        };
+        origins = new Object[STREAM_LENGTH];
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            origins[i] = prototypes[i % originClassCount];
+            wrapperFactory.get(origins[i]);
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) throws ClassGeneratorException {
+        for (Object origin : origins) {
+            blackhole.consume(wrapperFactory.get(origin));
+        }
+    }
+}
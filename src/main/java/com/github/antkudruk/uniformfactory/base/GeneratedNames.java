@@ -0,0 +1,181 @@
+package com.github.antkudruk.uniformfactory.base;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Derives names of generated classes and fields from what they're generated
+ * for, so that the same input produces the same bytecode in every run.
+ *
+ * Classes are named after the origin class, the role of the class and a hash
+ * of the wrapper method and the origin member. Classes of one wrapper are
+ * generated within a scope. If a name is already taken in the scope, an index
+ * is appended to it. The classes of one wrapper are always generated in the
+ * same order, so the indices are stable too.
+ */
+public final class GeneratedNames {
+
+    private static final String SEPARATOR = "$UniformFactory$";
+
+    // Classes can't be defined in java.* packages
+    private static final String RESTRICTED_PACKAGE = "java.";
+    private static final String RESTRICTED_PACKAGE_PREFIX = "com.github.antkudruk.uniformfactory.generated.";
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private GeneratedNames() {
+    }
+
+    /**
+     * Opens a scope for the classes of one wrapper or joins the scope opened
+     * by the current thread.
+     *
+     * @return Scope to close after the classes have been generated
+     */
+    public static Scope openScope() {
+        Scope scope = SCOPE.get();
+        if (scope == null) {
+            scope = new Scope(null, null);
+            SCOPE.set(scope);
+        }
+        scope.depth++;
+        return scope;
+    }
+
+    /**
+     * Creates a scope for classes generated apart from the other classes
+     * of the wrapper, e.g. in another thread, nested in the scope of the
+     * current thread. The qualifier and the index of the nested scope are
+     * added to the hash of every class name in the scope, so that the names
+     * don't clash with the names of the other scopes while staying stable.
+     * Names are reserved in the outermost scope anyway.
+     *
+     * Create nested scopes in the thread of the enclosing scope and in the
+     * same order in every run, then open them with {@link #openScope(Scope)}.
+     *
+     * @param qualifier Part distinguishing the scope, e.g. an origin member
+     * @return Scope to open in the thread generating the classes
+     */
+    public static Scope nestedScope(Object qualifier) {
+        Scope enclosing = SCOPE.get();
+        if (enclosing == null) {
+            return new Scope(null, qualifier);
+        }
+        return new Scope(enclosing, Arrays.asList(enclosing.qualifier, enclosing.nextIndex(), qualifier));
+    }
+
+    /**
+     * Opens a scope created by {@link #nestedScope(Object)} in the current thread.
+     * The scope of the current thread, if any, is restored on closing.
+     *
+     * @param scope Nested scope
+     * @return Scope to close after the classes have been generated
+     */
+    public static Scope openScope(Scope scope) {
+        if (scope.depth++ == 0) {
+            scope.previous = SCOPE.get();
+            SCOPE.set(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * @param base Type to name the class after, usually the origin class
+     * @param role Role of the class, e.g. {@code Wrapper}
+     * @param parts Wrapper method, origin member and other parts
+     *              distinguishing the class from the other ones of the same role
+     * @return Class name unique within the current scope
+     */
+    public static String className(TypeDescription base, String role, Object... parts) {
+        String prefix = base.getName().startsWith(RESTRICTED_PACKAGE) ? RESTRICTED_PACKAGE_PREFIX : "";
+        Scope scope = SCOPE.get();
+        String name = prefix + base.getName() + SEPARATOR + role + "$" + hash(qualify(scope, parts));
+        return scope == null ? name : scope.reserve(name);
+    }
+
+    /**
+     * @param prefix Field name prefix
+     * @param parts Parts distinguishing the field from the other fields of the class
+     * @return Field name
+     */
+    public static String fieldName(String prefix, Object... parts) {
+        return prefix + "$" + hash(parts);
+    }
+
+    private static Object[] qualify(Scope scope, Object[] parts) {
+        if (scope == null || scope.qualifier == null) {
+            return parts;
+        }
+        Object[] qualified = Arrays.copyOf(parts, parts.length + 1);
+        qualified[parts.length] = scope.qualifier;
+        return qualified;
+    }
+
+    private static String hash(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            byte[] bytes = digest.digest();
+            StringBuilder hash = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hash.append(String.format("%02x", bytes[i]));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Set<String> names = new HashSet<>();
+        // Outermost scope, shared by the threads generating classes of the wrapper
+        private final Scope root;
+        private final Object qualifier;
+        private Scope previous;
+        private int depth;
+        private int nestedScopes;
+
+        private Scope(Scope enclosing, Object qualifier) {
+            this.root = enclosing == null ? this : enclosing.root;
+            this.qualifier = qualifier;
+        }
+
+        private int nextIndex() {
+            synchronized (root) {
+                return ++nestedScopes;
+            }
+        }
+
+        private String reserve(String name) {
+            synchronized (root) {
+                String result = name;
+                for (int index = 2; !root.names.add(result); index++) {
+                    result = name + "$" + index;
+                }
+                return result;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (--depth == 0) {
+                if (previous == null) {
+                    SCOPE.remove();
+                } else {
+                    SCOPE.set(previous);
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.antkudruk.uniformfactory.base;
 
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.atomic.AtomicInteger;
 
-@RequiredArgsConstructor
+/**
+ * Generates identifiers unique for the generator. Thread safe.
+ */
 public class IdentifierGeneratorImpl implements IdentifierGenerator {
 
     // TODO: Refactor existing objects to use these generators
@@ -11,10 +13,14 @@ public class IdentifierGeneratorImpl implements IdentifierGenerator {
     public static final IdentifierGeneratorImpl METHOD_ID_GENERATOR = new IdentifierGeneratorImpl("uniformFactoryMethod");
 
     private final String prefix;
-    private int index = 1;
+    private final AtomicInteger index = new AtomicInteger(1);
+
+    public IdentifierGeneratorImpl(String prefix) {
+        this.prefix = prefix;
+    }
 
     @Override
     public String next() {
-        return String.format("%s%08X", prefix, index++);
+        return String.format("%s%08X", prefix, index.getAndIncrement());
     }
 }
@@ -0,0 +1,32 @@
+package com.github.antkudruk.uniformfactory.base;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+/**
+ * Translator returning its argument.
+ * It's serializable, so that generated classes using it can be cached.
+ */
+public final class IdentityTranslator implements Function<Object, Object>, Serializable {
+
+    public static final IdentityTranslator INSTANCE = new IdentityTranslator();
+
+    private static final long serialVersionUID = 1L;
+
+    private IdentityTranslator() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Function<T, T> get() {
+        return (Function<T, T>) (Function<?, ?>) INSTANCE;
+    }
+
+    @Override
+    public Object apply(Object t) {
+        return t;
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
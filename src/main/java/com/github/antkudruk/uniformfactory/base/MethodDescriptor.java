@@ -20,6 +20,7 @@ import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import net.bytebuddy.description.type.TypeDescription;
 
 import java.lang.reflect.Method;
+import java.util.Optional;
 
 /**
  * Describes how to implement each wrapper method.
@@ -43,4 +44,17 @@ public interface MethodDescriptor {
      */
     Enhancer getEnhancer(TypeDescription originType)
             throws ClassGeneratorException;
+
+    /**
+     * Returns an interpreter implementing the wrapper method for
+     * {@code originClass} without class generation. Descriptors that can't
+     * be interpreted return an empty value, and the wrapper class is
+     * generated for such origin classes right away.
+     *
+     * @param originClass Origin class to interpret the wrapper method for.
+     * @return Interpreter of the wrapper method, if any.
+     */
+    default Optional<MethodInterpreter> getInterpreter(Class<?> originClass) {
+        return Optional.empty();
+    }
 }
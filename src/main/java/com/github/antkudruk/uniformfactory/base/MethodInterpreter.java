@@ -0,0 +1,33 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base;
+
+/**
+ * Implements a wrapper method for a particular origin class by reflection,
+ * without generating any class.
+ */
+@FunctionalInterface
+public interface MethodInterpreter {
+
+    /**
+     * @param origin Origin object
+     * @param arguments Arguments of the wrapper method
+     * @return Result of the wrapper method
+     * @throws Throwable Exception thrown by the origin member
+     */
+    Object invoke(Object origin, Object[] arguments) throws Throwable;
+}
@@ -0,0 +1,82 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.util.Objects;
+
+/**
+ * Tells the bytecode generated in the current thread whether the generated
+ * classes are going to be defined in the runtime package of the origin class.
+ *
+ * If so, generated classes access non-private fields of the classes of that
+ * package with plain {@code getfield} and {@code putfield}. Private fields are
+ * accessed through method handles anyway.
+ */
+public final class PackageAccess {
+
+    private static final ThreadLocal<Boolean> GRANTED = new ThreadLocal<>();
+
+    private PackageAccess() {
+    }
+
+    /**
+     * @param granted {@code true} if the classes generated until the scope is
+     *                closed are defined in the runtime package of the origin class
+     * @return Scope to close after the classes have been generated
+     */
+    public static Scope grant(boolean granted) {
+        Scope scope = new Scope(GRANTED.get());
+        GRANTED.set(granted);
+        return scope;
+    }
+
+    public static boolean isGranted() {
+        return Boolean.TRUE.equals(GRANTED.get());
+    }
+
+    /**
+     * @param accessor Generated class accessing the field
+     * @param field Field of an origin class
+     * @return {@code true} if the accessor can access the field directly
+     */
+    public static boolean isDirectlyAccessible(TypeDescription accessor, FieldDescription field) {
+        return isGranted()
+                && !field.isPrivate()
+                && Objects.equals(accessor.getPackage(), field.getDeclaringType().asErasure().getPackage());
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Boolean enclosing;
+
+        private Scope(Boolean enclosing) {
+            this.enclosing = enclosing;
+        }
+
+        @Override
+        public void close() {
+            if (enclosing == null) {
+                GRANTED.remove();
+            } else {
+                GRANTED.set(enclosing);
+            }
+        }
+    }
+}
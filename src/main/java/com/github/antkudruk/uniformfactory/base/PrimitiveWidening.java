@@ -0,0 +1,112 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Translators for widening primitive conversions, like {@code int} to {@code long}.
+ * They're registered for numeric wrapper result types by default.
+ *
+ * Generated wrappers don't call them for primitive origin values: the value
+ * is widened right in the bytecode. Being an enum, they're serializable, so
+ * that generated classes using them can be cached.
+ */
+public enum PrimitiveWidening implements Function<Object, Object> {
+
+    TO_SHORT(short.class, byte.class) {
+        @Override
+        Object widen(Number value) {
+            return value.shortValue();
+        }
+    },
+    TO_INT(int.class, byte.class, short.class, char.class) {
+        @Override
+        Object widen(Number value) {
+            return value.intValue();
+        }
+    },
+    TO_LONG(long.class, byte.class, short.class, char.class, int.class) {
+        @Override
+        Object widen(Number value) {
+            return value.longValue();
+        }
+    },
+    TO_FLOAT(float.class, byte.class, short.class, char.class, int.class, long.class) {
+        @Override
+        Object widen(Number value) {
+            return value.floatValue();
+        }
+    },
+    TO_DOUBLE(double.class, byte.class, short.class, char.class, int.class, long.class, float.class) {
+        @Override
+        Object widen(Number value) {
+            return value.doubleValue();
+        }
+    };
+
+    private final Class<?> type;
+    private final List<Class<?>> sourceTypes;
+
+    PrimitiveWidening(Class<?> type, Class<?>... sourceTypes) {
+        this.type = type;
+        this.sourceTypes = Arrays.asList(sourceTypes);
+    }
+
+    /**
+     * @param type Primitive or boxed type
+     * @return Widening to the primitive type, empty if nothing is widened to the type
+     */
+    public static Optional<PrimitiveWidening> to(Class<?> type) {
+        return Arrays.stream(values())
+                .filter(t -> t.type == type || TypeShortcuts.getBoxedType(t.type) == type)
+                .findFirst();
+    }
+
+    /**
+     * @return Primitive type the values are widened to
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return Primitive types widened by this translator
+     */
+    public List<Class<?>> getSourceTypes() {
+        return sourceTypes;
+    }
+
+    public boolean widens(TypeDescription sourceType) {
+        return sourceTypes.stream().anyMatch(sourceType::represents);
+    }
+
+    @Override
+    public Object apply(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return widen(value instanceof Character ? (int) (Character) value : (Number) value);
+    }
+
+    abstract Object widen(Number value);
+}
@@ -0,0 +1,66 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base;
+
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Recognizes built-in translators that generated code applies right in the
+ * bytecode instead of calling them.
+ */
+public final class Translators {
+
+    private Translators() {
+    }
+
+    /**
+     * Checks if the translator returns its argument. Generated code passes
+     * the value as is, keeping the casts the verifier requires only.
+     *
+     * @param translator Translator
+     * @return {@code true} for the built-in identity translator
+     */
+    public static boolean isIdentity(Function<?, ?> translator) {
+        return translator == IdentityTranslator.INSTANCE;
+    }
+
+    /**
+     * Finds the primitive type a built-in translator converts a primitive
+     * origin value to. Generated code converts such a value with a primitive
+     * widening at most, without boxing it for the translator.
+     *
+     * @param translator Translator of the origin value
+     * @param originType Type of the origin value
+     * @return Primitive type of the translated value, empty if the translator has to be called
+     */
+    public static Optional<TypeDescription> getPrimitiveResultType(Function<?, ?> translator, TypeDescription originType) {
+        if (!originType.isPrimitive() || originType.represents(void.class)) {
+            return Optional.empty();
+        }
+        if (isIdentity(translator)) {
+            return Optional.of(originType);
+        }
+        if (translator instanceof PrimitiveWidening && ((PrimitiveWidening) translator).widens(originType)) {
+            return Optional.of(TypeDescriptions.of(((PrimitiveWidening) translator).getType()));
+        }
+        return Optional.empty();
+    }
+}
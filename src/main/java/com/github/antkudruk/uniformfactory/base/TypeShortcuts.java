@@ -9,6 +9,7 @@ public class TypeShortcuts {
     public static final Map<Class<?>, Class<?>> UNBOXED_TYPE = Collections.unmodifiableMap(new HashMap<Class<?>, Class<?>>() {{
         put(int.class, Integer.class);
         put(byte.class, Byte.class);
+        put(short.class, Short.class);
         put(char.class, Character.class);
         put(long.class, Long.class);
         put(boolean.class, Boolean.class);
@@ -0,0 +1,49 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base.bytecode;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * Assigns values like {@link Assigner#DEFAULT}. A value it can't assign,
+ * like a {@code Long} to an {@code int} parameter, is assigned through
+ * {@code Object} instead: boxed, cast and unboxed if necessary.
+ *
+ * This way, a value the identity translator isn't called for is assigned the
+ * same way as a translator result. An inappropriate value fails with
+ * {@code ClassCastException} on invocation rather than on generation.
+ */
+public class CastingAssigner implements Assigner {
+
+    public static final CastingAssigner INSTANCE = new CastingAssigner();
+
+    private CastingAssigner() {
+    }
+
+    @Override
+    public StackManipulation assign(TypeDescription.Generic source, TypeDescription.Generic target, Typing typing) {
+        StackManipulation assignment = DEFAULT.assign(source, target, typing);
+        if (assignment.isValid()) {
+            return assignment;
+        }
+        return new StackManipulation.Compound(
+                DEFAULT.assign(source, TypeDescription.Generic.OBJECT, typing),
+                DEFAULT.assign(TypeDescription.Generic.OBJECT, target, Typing.DYNAMIC));
+    }
+}
@@ -16,21 +16,23 @@
 
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
+import com.github.antkudruk.uniformfactory.base.PackageAccess;
+import com.github.antkudruk.uniformfactory.base.Translators;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.ForStaticField;
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
-import lombok.RequiredArgsConstructor;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
-import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveBoxingDelegate;
 import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveUnboxingDelegate;
-import net.bytebuddy.implementation.bytecode.constant.FieldConstant;
-import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveWideningDelegate;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
@@ -39,27 +41,27 @@ import net.bytebuddy.jar.asm.MethodVisitor;
 import net.bytebuddy.jar.asm.Opcodes;
 import net.bytebuddy.matcher.ElementMatchers;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
  * Generates bytecode that returns field value, even if the field is private.
+ * The field is read through a method handle resolved once per generated class.
+ * See {@link FieldHandles}. Fields the generated class has access to
+ * according to {@link PackageAccess} are read directly.
+ * Built-in translators, like the identity one, are applied in the bytecode
+ * without a call, see {@link Translators}.
  *
  * <pre>
  * {@code
  *      public void invoke() {
- *          field.setAccessible(true);
- *          Object fieldValue = field.get(this.originField);
- *          field.setAccessible(false);
+ *          Object fieldValue = FIELD_HANDLE.invokeExact(this.originField);
  *          return resultTranslatorLambda.apply(fieldValue);
  *      }
  * }
  * </pre>
  *
  */
-@RequiredArgsConstructor
 public class FieldAccessImplementation implements Implementation {
 
     private static final String RESULT_TRANSLATOR_FIELD_NAME = "RESULT_TRANSLATOR";
@@ -67,6 +69,27 @@ public class FieldAccessImplementation implements Implementation {
     private final String originFieldName;
     private final FieldDescription valueField;
     private final Function<?, ?> resultTranslator;
+    private final String resultTranslatorFieldName;
+
+    public FieldAccessImplementation(String originFieldName,
+                                     FieldDescription valueField,
+                                     Function<?, ?> resultTranslator) {
+        this(originFieldName, valueField, resultTranslator, RESULT_TRANSLATOR_FIELD_NAME);
+    }
+
+    /**
+     * @param resultTranslatorFieldName Name of the static field for the result translator,
+     *                                  unique for each implementation in the class
+     */
+    public FieldAccessImplementation(String originFieldName,
+                                     FieldDescription valueField,
+                                     Function<?, ?> resultTranslator,
+                                     String resultTranslatorFieldName) {
+        this.originFieldName = originFieldName;
+        this.valueField = valueField;
+        this.resultTranslator = resultTranslator;
+        this.resultTranslatorFieldName = resultTranslatorFieldName;
+    }
 
     @Override
     public ByteCodeAppender appender(Target implementationTarget) {
@@ -77,29 +100,58 @@ public class FieldAccessImplementation implements Implementation {
                 .filter(ElementMatchers.named(originFieldName))
                 .getOnly();
 
-        return new Appender(originField, valueField);
+        return new Appender(originField, valueField, resultTranslatorFieldName,
+                PackageAccess.isDirectlyAccessible(implementationTarget.getInstrumentedType(), valueField)
+                        ? null
+                        : FieldHandles.getterName(valueField),
+                getPassedValueType().orElse(null));
     }
 
     @Override
     public InstrumentedType prepare(InstrumentedType instrumentedType) {
-        // Initiate result translator
-        return instrumentedType
-                .withField(new FieldDescription.Token(RESULT_TRANSLATOR_FIELD_NAME,
+        // Initiate result translator unless it's applied in the bytecode
+        InstrumentedType withTranslator = getPassedValueType().isPresent()
+                ? instrumentedType
+                : instrumentedType
+                .withField(new FieldDescription.Token(resultTranslatorFieldName,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
-                        new TypeDescription.ForLoadedType(Function.class).asGenericType()))
+                        TypeDescriptions.of(Function.class).asGenericType()))
+
+                .withInitializer(new ForStaticField(resultTranslatorFieldName, resultTranslator));
+
+        return PackageAccess.isDirectlyAccessible(instrumentedType, valueField)
+                ? withTranslator
+                : FieldHandles.defineGetter(withTranslator, valueField);
+    }
 
-                .withInitializer(new ForStaticField(RESULT_TRANSLATOR_FIELD_NAME, resultTranslator));
+    // Type of the value returned without calling the result translator
+    private Optional<TypeDescription> getPassedValueType() {
+        TypeDescription valueType = valueField.getType().asErasure();
+        return Translators.isIdentity(resultTranslator)
+                ? Optional.of(valueType)
+                : Translators.getPrimitiveResultType(resultTranslator, valueType);
     }
 
     public static class Appender implements ByteCodeAppender {
         private final FieldDescription originField;
         private final FieldDescription valueField;
+        private final String resultTranslatorFieldName;
+        // Null if the field is read directly
+        private final String fieldHandleFieldName;
+        // Null if the result translator is called
+        private final TypeDescription passedValueType;
 
         Appender(FieldDescription originField,
-                 FieldDescription valueField) {
+                 FieldDescription valueField,
+                 String resultTranslatorFieldName,
+                 String fieldHandleFieldName,
+                 TypeDescription passedValueType) {
 
             this.originField = originField;
             this.valueField = valueField;
+            this.resultTranslatorFieldName = resultTranslatorFieldName;
+            this.fieldHandleFieldName = fieldHandleFieldName;
+            this.passedValueType = passedValueType;
         }
 
         @Override
@@ -108,25 +160,61 @@ public class FieldAccessImplementation implements Implementation {
                 Context implementationContext,
                 MethodDescription instrumentedMethod) {
 
+            StackManipulation body = passedValueType == null
+                    ? translateValue(instrumentedMethod)
+                    : passValueThrough(instrumentedMethod);
+
+            return new Size(body.apply(methodVisitor, implementationContext).getMaximalSize(),
+                    instrumentedMethod.getStackSize());
+        }
+
+        private StackManipulation passValueThrough(MethodDescription instrumentedMethod) {
+            if (instrumentedMethod.getReturnType().represents(void.class)) {
+                return MethodReturn.VOID;
+            }
+
+            // Method handles return references as objects
+            TypeDescription valueType = passedValueType.isPrimitive() || fieldHandleFieldName == null
+                    ? passedValueType
+                    : FieldHandles.erasure(valueField);
+            StackManipulation assignment = Assigner.DEFAULT.assign(
+                    valueType.asGenericType(),
+                    instrumentedMethod.getReturnType(),
+                    Assigner.Typing.DYNAMIC);
+            if (!assignment.isValid()) {
+                throw new IllegalStateException("Can't return " + valueType.getTypeName()
+                        + " from " + instrumentedMethod);
+            }
+
+            return new StackManipulation.Compound(
+                    readValue(instrumentedMethod),
+                    passedValueType.isPrimitive()
+                            ? PrimitiveWideningDelegate.forPrimitive(valueField.getType()).widenTo(passedValueType)
+                            : StackManipulation.Trivial.INSTANCE,
+                    assignment,
+                    MethodReturn.of(instrumentedMethod.getReturnType()));
+        }
+
+        private StackManipulation translateValue(MethodDescription instrumentedMethod) {
             FieldDescription resultTranslatorLambda = TypeDescriptionShortcuts.deepFindRequiredField(
                     instrumentedMethod.getDeclaringType().asErasure(),
-                    RESULT_TRANSLATOR_FIELD_NAME);
+                    resultTranslatorFieldName);
 
-            return new Size(new StackManipulation.Compound(
+            return new StackManipulation.Compound(
 
                     // Apply method on the field
                     MethodVariableAccess.loadThis(),
                     FieldAccess.forField(resultTranslatorLambda.asDefined()).read(),
                     // Stack: resultTranslatorLambda
 
-                    // TODO: Use public field stack manipulation if it's direct class field, too, \
-                    //  'cause it's accessible regardless of modifier
-                    valueField.isPublic()
-                            || Objects.equals(instrumentedMethod.getDeclaringType().asErasure().getDeclaringType(), originField.getDeclaringType())
-                            ? publicFieldStackManipulation()
-                            : privateFieldStackManipulation(),
+                    readValue(instrumentedMethod),
+                    valueField.getType().isPrimitive()
+                            ? PrimitiveBoxingDelegate.forPrimitive(valueField.getType())
+                                    .assignBoxedTo(TypeDescription.Generic.OBJECT, Assigner.DEFAULT, Assigner.Typing.STATIC)
+                            : StackManipulation.Trivial.INSTANCE,
+                    // Stack: resultTranslatorLambda, value
 
-                    instrumentedMethod.getReturnType().equals(new TypeDescription.ForLoadedType(void.class).asGenericType())
+                    instrumentedMethod.getReturnType().equals(TypeDescriptions.of(void.class).asGenericType())
                     ? MethodReturn.VOID
                     : new StackManipulation.Compound(
                             // Apply method on the field
@@ -141,82 +229,24 @@ public class FieldAccessImplementation implements Implementation {
                                 : TypeCasting.to(instrumentedMethod.getReturnType().asErasure().asBoxed()),
                             MethodReturn.of(instrumentedMethod.getReturnType())
                     )
-
-            ).apply(methodVisitor, implementationContext)
-                    .getMaximalSize(),
-                    instrumentedMethod.getStackSize());
-        }
-
-        /**
-         * <pre>
-         * {@code
-         *     Object invoke () {
-         *         valueField.setAccessible(true);
-         *         result = valueField.get(this.origin);
-         *         valueField.setAccessible(false);
-         *         return result;
-         *     }
-         * }
-         * </pre>
-         *
-         * @return Stack manipulation to access private field.
-         */
-        private StackManipulation privateFieldStackManipulation() {
-            return new StackManipulation.Compound(
-                    // on
-                    new FieldConstant(valueField.asDefined()),
-                    // stack: valueField
-                    Duplication.of(new TypeDescription.ForLoadedType(Field.class)),
-                    // stack: valueField, valueField
-                    IntegerConstant.forValue(true),
-                    // stack: valueField, valueField, 'true'
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.deepFindMethod(
-                            new TypeDescription.ForLoadedType(Field.class),
-                            "setAccessible",
-                            boolean.class).orElseThrow(RuntimeException::new)),
-                    // Stack: valueField
-                    MethodVariableAccess.loadThis(),
-                    FieldAccess.forField(originField).read(),
-                    // Stack: valueField, origin
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            Field.class,
-                            "get",
-                            Object.class).orElseThrow(RuntimeException::new)),
-                    // Stack: value
-
-                    // off
-                    new FieldConstant(valueField.asDefined()),
-                    IntegerConstant.forValue(false),
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            AccessibleObject.class,
-                            "setAccessible",
-                            boolean.class).orElseThrow(RuntimeException::new))
             );
         }
 
-        /**
-         * {@code
-         * <p>
-         * Object invoke () {
-         *          return origin.value;
-         *      }
-         * }
-         *
-         * @return Stack manipulation to access public field.
-         */
-        private StackManipulation publicFieldStackManipulation() {
-            return new StackManipulation.Compound(
-                    new FieldConstant(valueField.asDefined()),
-                    // stack: valueField
+        private StackManipulation readValue(MethodDescription instrumentedMethod) {
+            StackManipulation loadOrigin = new StackManipulation.Compound(
                     MethodVariableAccess.loadThis(),
-                    // stack: valueField, this
-                    FieldAccess.forField(originField).read(),
-                    // Stack: resultTranslatorLambda, valueField, origin
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            Field.class,
-                            "get",
-                            Object.class).orElseThrow(RuntimeException::new))
-            );
+                    FieldAccess.forField(originField).read());
+
+            if (fieldHandleFieldName == null) {
+                return new StackManipulation.Compound(
+                        valueField.isStatic() ? StackManipulation.Trivial.INSTANCE : loadOrigin,
+                        FieldAccess.forField(valueField.asDefined()).read());
+            }
+
+            FieldDescription fieldHandle = TypeDescriptionShortcuts.deepFindRequiredField(
+                    instrumentedMethod.getDeclaringType().asErasure(),
+                    fieldHandleFieldName);
+            return FieldHandles.invokeGetter(fieldHandle, valueField, loadOrigin);
         }
     }
 }
\ No newline at end of file
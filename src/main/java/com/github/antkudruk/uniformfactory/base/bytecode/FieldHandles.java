@@ -0,0 +1,273 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base.bytecode;
+
+import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import net.bytebuddy.description.annotation.AnnotationValue;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.constant.ClassConstant;
+import net.bytebuddy.implementation.bytecode.constant.FieldConstant;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Accesses an origin field through a method handle kept in a
+ * {@code private static final} field of the generated class.
+ *
+ * The handle is resolved once, in the static initializer of the generated
+ * class, so that the JIT compiler treats it as a constant:
+ *
+ * <pre>
+ * {@code
+ *      private static final MethodHandle HANDLE;
+ *
+ *      static {
+ *          Field field = Origin.class.getDeclaredField("value");
+ *          field.setAccessible(true);
+ *          HANDLE = MethodHandles.lookup()
+ *                  .unreflectGetter(field)
+ *                  .asType(MethodType.methodType(int.class, Object.class));
+ *      }
+ * }
+ * </pre>
+ *
+ * Setters are resolved the same way with {@code unreflectSetter}.
+ *
+ * Reference types are erased to {@code Object} in the handle type, so that
+ * the generated class doesn't have to access the origin classes.
+ * Primitive values aren't boxed by the handle.
+ */
+final class FieldHandles {
+
+    private static final int HANDLE_FIELD_MODIFIERS
+            = Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC;
+
+    private FieldHandles() {
+    }
+
+    /**
+     * @return Name of the field holding the getter of {@code field}
+     */
+    static String getterName(FieldDescription field) {
+        return handleFieldName(field, false);
+    }
+
+    /**
+     * @return Name of the field holding the setter of {@code field}
+     */
+    static String setterName(FieldDescription field) {
+        return handleFieldName(field, true);
+    }
+
+    /**
+     * Defines the field {@link #getterName(FieldDescription)} holding the getter of {@code field}.
+     */
+    static InstrumentedType defineGetter(InstrumentedType instrumentedType, FieldDescription field) {
+        return define(instrumentedType, field, false);
+    }
+
+    /**
+     * Defines the field {@link #setterName(FieldDescription)} holding the setter of {@code field}.
+     */
+    static InstrumentedType defineSetter(InstrumentedType instrumentedType, FieldDescription field) {
+        return define(instrumentedType, field, true);
+    }
+
+    // Unique for each origin field, so that several accessors can share the class
+    private static String handleFieldName(FieldDescription field, boolean setter) {
+        return (setter ? "SETTER$" : "GETTER$")
+                + field.getDeclaringType().asErasure().getName().replace('.', '$')
+                + "$" + field.getName();
+    }
+
+    private static InstrumentedType define(InstrumentedType instrumentedType,
+                                           FieldDescription field,
+                                           boolean setter) {
+        String handleFieldName = handleFieldName(field, setter);
+        if (!instrumentedType.getDeclaredFields().filter(ElementMatchers.named(handleFieldName)).isEmpty()) {
+            // Another accessor of the same field has already defined the handle
+            return instrumentedType;
+        }
+        FieldDescription.Token handleToken = new FieldDescription.Token(
+                handleFieldName,
+                HANDLE_FIELD_MODIFIERS,
+                TypeDescriptions.of(MethodHandle.class).asGenericType());
+        return instrumentedType
+                .withField(handleToken)
+                .withInitializer(new Initializer(new FieldDescription.Latent(instrumentedType, handleToken), field, setter));
+    }
+
+    /**
+     * Reads the value of {@code field}.
+     * Stack after: value, primitive or erased to {@code Object}.
+     *
+     * @param loadOrigin Loads the origin, skipped for static fields
+     */
+    static StackManipulation invokeGetter(FieldDescription handleField,
+                                          FieldDescription field,
+                                          StackManipulation loadOrigin) {
+        return new StackManipulation.Compound(
+                FieldAccess.forField(handleField.asDefined()).read(),
+                field.isStatic() ? StackManipulation.Trivial.INSTANCE : loadOrigin,
+                MethodInvocation.invoke(invokeExact(handleType(field, false))));
+    }
+
+    /**
+     * Writes the value to {@code field}.
+     *
+     * @param loadOrigin Loads the origin, skipped for static fields
+     * @param loadValue Loads the value of type {@link #erasure(FieldDescription)}
+     */
+    static StackManipulation invokeSetter(FieldDescription handleField,
+                                          FieldDescription field,
+                                          StackManipulation loadOrigin,
+                                          StackManipulation loadValue) {
+        return new StackManipulation.Compound(
+                FieldAccess.forField(handleField.asDefined()).read(),
+                field.isStatic() ? StackManipulation.Trivial.INSTANCE : loadOrigin,
+                loadValue,
+                MethodInvocation.invoke(invokeExact(handleType(field, true))));
+    }
+
+    /**
+     * @return Type of the field values in the handle type
+     */
+    static TypeDescription erasure(FieldDescription field) {
+        TypeDescription type = field.getType().asErasure();
+        return type.isPrimitive() ? type : TypeDescription.OBJECT;
+    }
+
+    /**
+     * @return Return type followed by the parameter types
+     */
+    private static List<TypeDescription> handleType(FieldDescription field, boolean setter) {
+        List<TypeDescription> type = new ArrayList<>();
+        type.add(setter ? TypeDescription.VOID : erasure(field));
+        if (!field.isStatic()) {
+            type.add(TypeDescription.OBJECT);
+        }
+        if (setter) {
+            type.add(erasure(field));
+        }
+        return type;
+    }
+
+    /**
+     * @param type Return type followed by the parameter types
+     */
+    private static MethodDescription invokeExact(List<TypeDescription> type) {
+        List<ParameterDescription.Token> parameters = new ArrayList<>();
+        for (TypeDescription parameterType : type.subList(1, type.size())) {
+            parameters.add(new ParameterDescription.Token(parameterType.asGenericType()));
+        }
+        return new MethodDescription.Latent(
+                TypeDescriptions.of(MethodHandle.class),
+                "invokeExact",
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_NATIVE | Opcodes.ACC_VARARGS,
+                Collections.emptyList(),
+                type.get(0).asGenericType(),
+                parameters,
+                Collections.singletonList(TypeDescriptions.of(Throwable.class).asGenericType()),
+                Collections.emptyList(),
+                AnnotationValue.UNDEFINED,
+                TypeDescription.Generic.UNDEFINED);
+    }
+
+    private static class Initializer implements ByteCodeAppender {
+
+        private final FieldDescription.InDefinedShape handleField;
+        private final FieldDescription field;
+        private final boolean setter;
+
+        Initializer(FieldDescription.InDefinedShape handleField, FieldDescription field, boolean setter) {
+            this.handleField = handleField;
+            this.field = field;
+            this.setter = setter;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor,
+                          Implementation.Context implementationContext,
+                          MethodDescription instrumentedMethod) {
+
+            List<TypeDescription> type = handleType(field, setter);
+            List<StackManipulation> parameterTypes = new ArrayList<>();
+            for (TypeDescription parameterType : type.subList(1, type.size())) {
+                parameterTypes.add(ClassConstant.of(parameterType));
+            }
+
+            return new Size(new StackManipulation.Compound(
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findStaticMethod(
+                            MethodHandles.class,
+                            MethodHandles.Lookup.class,
+                            "lookup").orElseThrow(RuntimeException::new)),
+                    // Stack: lookup
+                    new FieldConstant(field.asDefined()),
+                    Duplication.SINGLE,
+                    IntegerConstant.forValue(true),
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.deepFindMethod(
+                            TypeDescriptions.of(Field.class),
+                            "setAccessible",
+                            boolean.class).orElseThrow(RuntimeException::new)),
+                    // Stack: lookup, field
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
+                            MethodHandles.Lookup.class,
+                            setter ? "unreflectSetter" : "unreflectGetter",
+                            Field.class).orElseThrow(RuntimeException::new)),
+                    // Stack: handle
+                    ClassConstant.of(type.get(0)),
+                    ArrayFactory.forType(TypeDescriptions.of(Class.class).asGenericType())
+                            .withValues(parameterTypes),
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findStaticMethod(
+                            MethodType.class,
+                            MethodType.class,
+                            "methodType",
+                            Class.class,
+                            Class[].class).orElseThrow(RuntimeException::new)),
+                    // Stack: handle, methodType
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
+                            MethodHandle.class,
+                            "asType",
+                            MethodType.class).orElseThrow(RuntimeException::new)),
+                    FieldAccess.forField(handleField).write()
+            ).apply(methodVisitor, implementationContext).getMaximalSize(),
+                    instrumentedMethod.getStackSize());
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.pluginbuilder.MetaClassFactory;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
@@ -105,7 +106,7 @@ public class InitFieldUsingClassInstanceMethodImplementation extends AbstractImp
                     // Stack: ConstructorGeneratorInstance,
                     ClassConstant.of(instrumentedMethod.getDeclaringType().asErasure()),
                     // Stack: ConstructorGeneratorInstance, originClass
-                    MethodInvocation.invoke(new TypeDescription.ForLoadedType(MetaClassFactory.class)
+                    MethodInvocation.invoke(TypeDescriptions.of(MetaClassFactory.class)
                             .getDeclaredMethods()
                             .filter(ElementMatchers.named("generateMetaClass")
                                     .and(ElementMatchers.takesArguments(Class.class))
@@ -17,6 +17,7 @@
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
@@ -93,8 +94,7 @@ public class InitFieldWithConstructorFieldUsingThisImplementation extends Abstra
                     FieldAccess.forField(wrapperConstructorField).read(),
                     MethodVariableAccess.loadThis(),
                     MethodInvocation.invoke(
-                            new TypeDescription
-                                    .ForLoadedType(Function.class)
+                            TypeDescriptions.of(Function.class)
                                     .getDeclaredMethods()
                                     .filter(ElementMatchers.named("apply"))
                                     .getOnly()),
@@ -17,6 +17,7 @@
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -109,7 +110,7 @@ public class InitListImplementation extends AbstractImplementation {
 
             List<StackManipulation> operands = new ArrayList<>(Arrays.asList(
                     MethodVariableAccess.loadThis(),        // Used by set field instruction
-                    TypeCreation.of(new TypeDescription.ForLoadedType(ArrayList.class)),
+                    TypeCreation.of(TypeDescriptions.of(ArrayList.class)),
                     Duplication.SINGLE,
                     MethodInvocation.invoke(TypeDescriptionShortcuts
                             .findConstructor(ArrayList.class).orElseThrow(RuntimeException::new)
@@ -17,6 +17,7 @@
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
@@ -26,6 +27,7 @@ import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.Removal;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
 import net.bytebuddy.implementation.bytecode.constant.TextConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
@@ -40,6 +42,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 
 /**
@@ -61,31 +64,70 @@ import java.util.Map;
  * }
  * </pre>
  *
+ * Elements having a dispatcher index are created with the index as the
+ * second constructor argument: {@code new Dispatcher(origin, 3)}.
+ *
+ * Shared elements are created by constructors kept in static fields of the
+ * wrapper: {@code temp.put("element", ELEMENT_CONSTRUCTOR.apply(origin))}.
+ *
  */
 public class InitMapImplementation<F> extends AbstractImplementation {
 
     private final String fieldName;
     private final TypeDescription originType;
     private final Map<String, DynamicType.Unloaded<? extends F>> functionalObjects;
+    private final Map<String, Integer> dispatcherIndexes;
+    private final Map<String, String> sharedElementFields;
 
     public InitMapImplementation(
             String fieldName,
             TypeDescription originType,
             Map<String, DynamicType.Unloaded<? extends F>> functionalObjects
     ) {
-        this(fieldName, originType, functionalObjects, true);
+        this(fieldName, originType, functionalObjects, Collections.emptyMap());
+    }
+
+    /**
+     * @param dispatcherIndexes Indexes to create elements of the keys with
+     */
+    public InitMapImplementation(
+            String fieldName,
+            TypeDescription originType,
+            Map<String, DynamicType.Unloaded<? extends F>> functionalObjects,
+            Map<String, Integer> dispatcherIndexes
+    ) {
+        this(fieldName, originType, functionalObjects, dispatcherIndexes, Collections.emptyMap(), true);
+    }
+
+    /**
+     * @param dispatcherIndexes Indexes to create elements of the keys with
+     * @param sharedElementFields Names of the static {@code Function} fields
+     *                            creating elements of the keys
+     */
+    public InitMapImplementation(
+            String fieldName,
+            TypeDescription originType,
+            Map<String, DynamicType.Unloaded<? extends F>> functionalObjects,
+            Map<String, Integer> dispatcherIndexes,
+            Map<String, String> sharedElementFields
+    ) {
+        this(fieldName, originType, functionalObjects, dispatcherIndexes, sharedElementFields, true);
     }
 
     private InitMapImplementation(
             String fieldName,
             TypeDescription originType,
             Map<String, DynamicType.Unloaded<? extends F>> functionalObjects,
+            Map<String, Integer> dispatcherIndexes,
+            Map<String, String> sharedElementFields,
             boolean isTerminating
     ) {
         super(isTerminating);
         this.fieldName = fieldName;
         this.originType = originType;
         this.functionalObjects = functionalObjects;
+        this.dispatcherIndexes = dispatcherIndexes;
+        this.sharedElementFields = sharedElementFields;
     }
 
 
@@ -96,7 +138,8 @@ public class InitMapImplementation<F> extends AbstractImplementation {
 
     @Override
     protected AbstractTerminatableImplementation cloneNotTerminated() {
-        return new InitMapImplementation<>(fieldName, originType, functionalObjects, false);
+        return new InitMapImplementation<>(
+                fieldName, originType, functionalObjects, dispatcherIndexes, sharedElementFields, false);
     }
 
     public class Appender implements ByteCodeAppender {
@@ -117,7 +160,7 @@ public class InitMapImplementation<F> extends AbstractImplementation {
 
             List<StackManipulation> operands = new ArrayList<>(Arrays.asList(
                     MethodVariableAccess.loadThis(),        // Used by set field instruction
-                    TypeCreation.of(new TypeDescription.ForLoadedType(HashMap.class)),
+                    TypeCreation.of(TypeDescriptions.of(HashMap.class)),
                     Duplication.SINGLE,
                     MethodInvocation.invoke(TypeDescriptionShortcuts
                             .findConstructor(HashMap.class).orElseThrow(RuntimeException::new)
@@ -128,6 +171,16 @@ public class InitMapImplementation<F> extends AbstractImplementation {
                 operands.addAll(getEachElementInstructions(
                         new TextConstant(entry.getKey()),
                         entry.getValue().getTypeDescription(),
+                        dispatcherIndexes.get(entry.getKey()),
+                        instrumentedMethod));
+            }
+
+            for (Map.Entry<String, String> entry : sharedElementFields.entrySet()) {
+                operands.addAll(getEachSharedElementInstructions(
+                        new TextConstant(entry.getKey()),
+                        TypeDescriptionShortcuts.deepFindRequiredField(
+                                instrumentedMethod.getDeclaringType().asErasure(),
+                                entry.getValue()),
                         instrumentedMethod));
             }
 
@@ -153,6 +206,7 @@ public class InitMapImplementation<F> extends AbstractImplementation {
         private List<StackManipulation> getEachElementInstructions(
                 StackManipulation key,
                 TypeDescription partialValueType,
+                Integer dispatcherIndex,
                 MethodDescription instrumentedMethod) {
 
             return Arrays.asList(
@@ -164,10 +218,16 @@ public class InitMapImplementation<F> extends AbstractImplementation {
                     MethodVariableAccess.REFERENCE.loadFrom(
                             instrumentedMethod.getParameters().get(0).getOffset()),        // Constructor argument,
 
+                    dispatcherIndex == null
+                            ? StackManipulation.Trivial.INSTANCE
+                            : IntegerConstant.forValue(dispatcherIndex),
+
                     MethodInvocation.invoke(partialValueType
                             .getDeclaredMethods()
                             .filter(ElementMatchers.isConstructor()
-                                    .and(ElementMatchers.takesArguments(originType))
+                                    .and(dispatcherIndex == null
+                                            ? ElementMatchers.takesArguments(originType)
+                                            : ElementMatchers.takesArguments(originType, TypeDescriptions.of(int.class)))
                             )
                             .getOnly()
                     ),
@@ -176,5 +236,25 @@ public class InitMapImplementation<F> extends AbstractImplementation {
                     Removal.SINGLE
             );
         }
+
+        // Adds value supposing the top of the stack points to the HashMap<>()
+        private List<StackManipulation> getEachSharedElementInstructions(
+                StackManipulation key,
+                FieldDescription constructorField,
+                MethodDescription instrumentedMethod) {
+
+            return Arrays.asList(
+                    Duplication.SINGLE,
+                    key,
+                    FieldAccess.forField(constructorField).read(),
+                    MethodVariableAccess.REFERENCE.loadFrom(
+                            instrumentedMethod.getParameters().get(0).getOffset()),
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
+                            Function.class, "apply", Object.class).orElseThrow(RuntimeException::new)),
+                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
+                            HashMap.class, "put", Object.class, Object.class).orElseThrow(RuntimeException::new)),
+                    Removal.SINGLE
+            );
+        }
     }
 }
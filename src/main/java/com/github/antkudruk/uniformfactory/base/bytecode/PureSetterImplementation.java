@@ -16,31 +16,41 @@
 
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
+import com.github.antkudruk.uniformfactory.base.PackageAccess;
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
-import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
-import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
-import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveBoxingDelegate;
-import net.bytebuddy.implementation.bytecode.constant.FieldConstant;
-import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
-import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.jar.asm.MethodVisitor;
 import net.bytebuddy.matcher.ElementMatchers;
 
-import java.lang.reflect.Field;
-
+/**
+ * Generates bytecode that sets the field value, even if the field is private.
+ * Public fields and the fields the generated class has access to according
+ * to {@link PackageAccess} are written directly. Other fields are written
+ * through a method handle resolved once per generated class.
+ * See {@link FieldHandles}.
+ *
+ * <pre>
+ * {@code
+ *      public void set(T value) {
+ *          FIELD_HANDLE.invokeExact(this.originField, value);
+ *      }
+ * }
+ * </pre>
+ */
 public class PureSetterImplementation implements Implementation {
 
+
     private final String originFieldName;
     private final FieldDescription valueField;
 
@@ -61,23 +71,32 @@ public class PureSetterImplementation implements Implementation {
                 .filter(ElementMatchers.named(originFieldName))
                 .getOnly();
 
-        return new Appender(originField, valueField);
+        return new Appender(originField, valueField, isDirectlyAccessible(implementationTarget.getInstrumentedType()));
     }
 
     @Override
     public InstrumentedType prepare(InstrumentedType instrumentedType) {
-        return instrumentedType;
+        return isDirectlyAccessible(instrumentedType)
+                ? instrumentedType
+                : FieldHandles.defineSetter(instrumentedType, valueField);
+    }
+
+    private boolean isDirectlyAccessible(TypeDescription instrumentedType) {
+        return valueField.isPublic() || PackageAccess.isDirectlyAccessible(instrumentedType, valueField);
     }
 
     public static class Appender implements ByteCodeAppender {
         private final FieldDescription originField;
         private final FieldDescription targetField;
+        private final boolean direct;
 
         Appender(FieldDescription originField,
-                 FieldDescription targetField) {
+                 FieldDescription targetField,
+                 boolean direct) {
 
             this.originField = originField;
             this.targetField = targetField;
+            this.direct = direct;
         }
 
         @Override
@@ -86,7 +105,7 @@ public class PureSetterImplementation implements Implementation {
                 Implementation.Context implementationContext,
                 MethodDescription instrumentedMethod) {
 
-            StackManipulation stackManipulation = targetField.isPublic()
+            StackManipulation stackManipulation = direct
                     ? publicFieldStackManipulation(instrumentedMethod)
                     : privateFieldStackManipulation(instrumentedMethod);
 
@@ -97,44 +116,24 @@ public class PureSetterImplementation implements Implementation {
 
         private StackManipulation privateFieldStackManipulation(
                 MethodDescription instrumentedMethod) {
+            FieldDescription fieldHandle = TypeDescriptionShortcuts.deepFindRequiredField(
+                    instrumentedMethod.getDeclaringType().asErasure(),
+                    FieldHandles.setterName(targetField));
+            ParameterDescription value = instrumentedMethod.getParameters().get(0);
+
             return new StackManipulation.Compound(
-                    new FieldConstant(targetField.asDefined()),
-                    // Stack: targetField,
-                    Duplication.of(new TypeDescription.ForLoadedType(Field.class)),
-                    // stack: targetField, targetField
-                    IntegerConstant.forValue(true),
-                    // stack: targetField, targetField, 'true'
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.deepFindMethod(
-                            new TypeDescription.ForLoadedType(Field.class),
-                            "setAccessible",
-                            boolean.class).orElseThrow(RuntimeException::new)),
-                    // stack: targetField
-                    MethodVariableAccess.loadThis(),
-                    // Stack: targetField, this
-                    FieldAccess.forField(originField).read(),
-                    // Stack: targetField, origin
-                    MethodVariableAccess
-                            .of(instrumentedMethod.getParameters().get(0).getType())
-                            .loadFrom(instrumentedMethod.getParameters().get(0).getOffset()),
-                    // Stack: targetField, origin, value
-                    instrumentedMethod.getParameters().get(0).getType().isPrimitive()
-                            ? PrimitiveBoxingDelegate
-                                    .forPrimitive(instrumentedMethod.getParameters().get(0).getType())
-                                    .assignBoxedTo(
-                                            instrumentedMethod.getParameters().get(0).getType().asErasure().asBoxed().asGenericType(),
-                                            Assigner.DEFAULT,
-                                            Assigner.Typing.DYNAMIC
-                                    )
-                            : StackManipulation.Trivial.INSTANCE,
-
-                    TypeCasting.to(targetField.getType().asErasure().asBoxed()),
-                    // Stack: targetField, origin, value
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            Field.class,
-                            "set",
-                            Object.class,
-                            Object.class).orElseThrow(RuntimeException::new)
-                    ),
+                    FieldHandles.invokeSetter(
+                            fieldHandle,
+                            targetField,
+                            new StackManipulation.Compound(
+                                    MethodVariableAccess.loadThis(),
+                                    FieldAccess.forField(originField).read()),
+                            new StackManipulation.Compound(
+                                    MethodVariableAccess.of(value.getType()).loadFrom(value.getOffset()),
+                                    Assigner.DEFAULT.assign(
+                                            value.getType(),
+                                            FieldHandles.erasure(targetField).asGenericType(),
+                                            Assigner.Typing.DYNAMIC))),
                     // Stack:
                     MethodReturn.VOID
             );
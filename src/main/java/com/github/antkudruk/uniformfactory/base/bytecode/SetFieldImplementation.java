@@ -16,7 +16,9 @@
 
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
+import com.github.antkudruk.uniformfactory.base.PackageAccess;
 import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.ForStaticField;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
@@ -24,12 +26,9 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
-import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
 import net.bytebuddy.implementation.bytecode.assign.primitive.PrimitiveUnboxingDelegate;
-import net.bytebuddy.implementation.bytecode.constant.FieldConstant;
-import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
@@ -38,7 +37,6 @@ import net.bytebuddy.jar.asm.MethodVisitor;
 import net.bytebuddy.jar.asm.Opcodes;
 import net.bytebuddy.matcher.ElementMatchers;
 
-import java.lang.reflect.Field;
 import java.util.function.Function;
 
 public class SetFieldImplementation implements Implementation {
@@ -68,29 +66,40 @@ public class SetFieldImplementation implements Implementation {
                 .filter(ElementMatchers.named(originFieldName))
                 .getOnly();
 
-        return new Appender(originField, valueField);
+        return new Appender(originField, valueField, isDirectlyAccessible(implementationTarget.getInstrumentedType()));
     }
 
     @Override
     public InstrumentedType prepare(InstrumentedType instrumentedType) {
         // Initiate result translator
-        return instrumentedType
+        InstrumentedType withTranslator = instrumentedType
                 .withField(new FieldDescription.Token(RESULT_TRANSLATOR_FIELD_NAME,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
-                        new TypeDescription.ForLoadedType(Function.class).asGenericType()))
+                        TypeDescriptions.of(Function.class).asGenericType()))
 
                 .withInitializer(new ForStaticField(RESULT_TRANSLATOR_FIELD_NAME, parameterTranslator));
+
+        return isDirectlyAccessible(instrumentedType)
+                ? withTranslator
+                : FieldHandles.defineSetter(withTranslator, valueField);
+    }
+
+    private boolean isDirectlyAccessible(TypeDescription instrumentedType) {
+        return valueField.isPublic() || PackageAccess.isDirectlyAccessible(instrumentedType, valueField);
     }
 
     public static class Appender implements ByteCodeAppender {
         private final FieldDescription originField;
         private final FieldDescription targetField;
+        private final boolean direct;
 
         Appender(FieldDescription originField,
-                 FieldDescription targetField) {
+                 FieldDescription targetField,
+                 boolean direct) {
 
             this.originField = originField;
             this.targetField = targetField;
+            this.direct = direct;
         }
 
         @Override
@@ -103,7 +112,7 @@ public class SetFieldImplementation implements Implementation {
                     instrumentedMethod.getDeclaringType().asErasure(),
                     RESULT_TRANSLATOR_FIELD_NAME);
 
-            StackManipulation stackManipulation = targetField.isPublic()
+            StackManipulation stackManipulation = direct
                 ? publicFieldStackManipulation(instrumentedMethod, resultTranslatorLambda)
                 : privateFieldStackManipulation(instrumentedMethod, resultTranslatorLambda);
 
@@ -115,42 +124,33 @@ public class SetFieldImplementation implements Implementation {
         private StackManipulation privateFieldStackManipulation(
                 MethodDescription instrumentedMethod,
                 FieldDescription resultTranslatorLambda) {
-            return new StackManipulation.Compound(
-                    new FieldConstant(targetField.asDefined()),
-                    // Stack: targetField,
-                    Duplication.of(new TypeDescription.ForLoadedType(Field.class)),
-                    // stack: targetField, targetField
-                    IntegerConstant.forValue(true),
-                    // stack: targetField, targetField, 'true'
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.deepFindMethod(
-                            new TypeDescription.ForLoadedType(Field.class),
-                            "setAccessible",
-                            boolean.class).orElseThrow(RuntimeException::new)),
-                    // stack: targetField
-                    MethodVariableAccess.loadThis(),
-                    // Stack: targetField, this
-                    FieldAccess.forField(originField).read(),
-                    // Stack: targetField, origin
-                    FieldAccess.forField(resultTranslatorLambda.asDefined()).read(),
-                    // Stack: targetField, origin, translator
-                    MethodVariableAccess.REFERENCE.loadFrom(
-                            instrumentedMethod.getParameters().get(0).getOffset()),
-                    // Stack: targetField, origin, translator, argument
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            Function.class,
-                            "apply",
-                            Object.class).orElseThrow(RuntimeException::new)
-                    ),
-                    // Stack: targetField, origin, value
-                    TypeCasting.to(targetField.getType().asErasure().asBoxed()), // TODO: Can get rid?
+            FieldDescription fieldHandle = TypeDescriptionShortcuts.deepFindRequiredField(
+                    instrumentedMethod.getDeclaringType().asErasure(),
+                    FieldHandles.setterName(targetField));
 
-                    // Stack: targetField, origin, value
-                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
-                            Field.class,
-                            "set",
-                            Object.class,
-                            Object.class).orElseThrow(RuntimeException::new)
-                    ),
+            return new StackManipulation.Compound(
+                    FieldHandles.invokeSetter(
+                            fieldHandle,
+                            targetField,
+                            new StackManipulation.Compound(
+                                    MethodVariableAccess.loadThis(),
+                                    FieldAccess.forField(originField).read()),
+                            // Stack: fieldHandle, origin
+                            new StackManipulation.Compound(
+                                    FieldAccess.forField(resultTranslatorLambda.asDefined()).read(),
+                                    MethodVariableAccess.REFERENCE.loadFrom(
+                                            instrumentedMethod.getParameters().get(0).getOffset()),
+                                    MethodInvocation.invoke(TypeDescriptionShortcuts.findMethod(
+                                            Function.class,
+                                            "apply",
+                                            Object.class).orElseThrow(RuntimeException::new)
+                                    ),
+                                    // Stack: fieldHandle, origin, value
+                                    targetField.getType().isPrimitive()
+                                            ? new StackManipulation.Compound(
+                                                    TypeCasting.to(targetField.getType().asErasure().asBoxed()),
+                                                    PrimitiveUnboxingDelegate.forPrimitive(targetField.getType()))
+                                            : StackManipulation.Trivial.INSTANCE)),
                     // Stack:
                     MethodReturn.VOID
             );
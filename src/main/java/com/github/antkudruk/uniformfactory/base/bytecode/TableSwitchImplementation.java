@@ -0,0 +1,141 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.base.bytecode;
+
+import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import lombok.RequiredArgsConstructor;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.Throw;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.util.List;
+
+/**
+ * Generates bytecode that passes the call to one of the methods of the
+ * same class, chosen by the index in the field.
+ *
+ * <pre>
+ * {@code
+ *      public Result invoke(A a, B b) {
+ *          switch (this.index) {
+ *              case 0: return this.target0(a, b);
+ *              case 1: return this.target1(a, b);
+ *              // ... ... ...
+ *              default: throw new IllegalStateException();
+ *          }
+ *      }
+ * }
+ * </pre>
+ *
+ * Target methods should take the same parameters and return the same type
+ * as the instrumented method.
+ */
+@RequiredArgsConstructor
+public class TableSwitchImplementation implements Implementation {
+
+    private final String indexFieldName;
+    private final List<String> targetMethodNames;
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return new Appender(implementationTarget.getInstrumentedType());
+    }
+
+    @RequiredArgsConstructor
+    private class Appender implements ByteCodeAppender {
+
+        private final TypeDescription instrumentedType;
+
+        @Override
+        public Size apply(
+                MethodVisitor methodVisitor,
+                Context implementationContext,
+                MethodDescription instrumentedMethod) {
+
+            FieldDescription indexField = instrumentedType.getDeclaredFields()
+                    .filter(ElementMatchers.named(indexFieldName))
+                    .getOnly();
+
+            int maximalSize = new StackManipulation.Compound(
+                    MethodVariableAccess.loadThis(),
+                    FieldAccess.forField(indexField).read()
+            ).apply(methodVisitor, implementationContext).getMaximalSize();
+
+            Label defaultLabel = new Label();
+            Label[] labels = new Label[targetMethodNames.size()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = new Label();
+            }
+            methodVisitor.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+
+            for (int i = 0; i < labels.length; i++) {
+                visitBranch(methodVisitor, implementationContext, labels[i]);
+                MethodDescription target = instrumentedType.getDeclaredMethods()
+                        .filter(ElementMatchers.named(targetMethodNames.get(i)))
+                        .getOnly();
+                maximalSize = Math.max(maximalSize, new StackManipulation.Compound(
+                        MethodVariableAccess.loadThis(),
+                        MethodVariableAccess.allArgumentsOf(instrumentedMethod),
+                        MethodInvocation.invoke(target),
+                        MethodReturn.of(instrumentedMethod.getReturnType())
+                ).apply(methodVisitor, implementationContext).getMaximalSize());
+            }
+
+            visitBranch(methodVisitor, implementationContext, defaultLabel);
+            maximalSize = Math.max(maximalSize, new StackManipulation.Compound(
+                    TypeCreation.of(TypeDescriptions.of(IllegalStateException.class)),
+                    Duplication.SINGLE,
+                    MethodInvocation.invoke(TypeDescriptionShortcuts
+                            .findConstructor(IllegalStateException.class)
+                            .orElseThrow(RuntimeException::new)),
+                    Throw.INSTANCE
+            ).apply(methodVisitor, implementationContext).getMaximalSize());
+
+            return new Size(maximalSize, instrumentedMethod.getStackSize());
+        }
+
+        private void visitBranch(MethodVisitor methodVisitor, Context implementationContext, Label label) {
+            methodVisitor.visitLabel(label);
+            // Every branch starts with the arguments only, like the method itself
+            if (implementationContext.getClassFileVersion().isAtLeast(ClassFileVersion.JAVA_V6)) {
+                methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+            }
+        }
+    }
+}
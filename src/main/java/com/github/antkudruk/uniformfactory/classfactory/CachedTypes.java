@@ -0,0 +1,52 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bytecode of the types generated for an origin class along with the values
+ * of their static fields, serialized.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class CachedTypes {
+
+    /**
+     * Name of the class implementing {@code Function} that creates wrappers
+     */
+    private final String factoryClassName;
+    private final Map<String, byte[]> types;
+    private final List<StaticFieldValue> staticFieldValues;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class StaticFieldValue {
+        private final String className;
+        private final String fieldName;
+
+        /**
+         * Whether the value is a translator to wrap into {@code CrossLoadersFunctionAdapter}
+         */
+        private final boolean translator;
+        private final byte[] value;
+    }
+}
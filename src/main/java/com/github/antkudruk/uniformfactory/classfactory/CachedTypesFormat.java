@@ -0,0 +1,104 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binary format of a class cache entry.
+ */
+final class CachedTypesFormat {
+
+    private static final int MAGIC = 0x55464343;
+    private static final int FORMAT_VERSION = 1;
+
+    static final String EXTENSION = ".classes";
+
+    private CachedTypesFormat() {
+    }
+
+    /**
+     * @return Cached types, or nothing if the entry has another format or key
+     */
+    static Optional<CachedTypes> read(InputStream inputStream, String key) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+            return Optional.empty();
+        }
+        String factoryClassName = in.readUTF();
+
+        int typeCount = in.readInt();
+        Map<String, byte[]> types = new HashMap<>();
+        for (int i = 0; i < typeCount; i++) {
+            types.put(in.readUTF(), readBytes(in));
+        }
+
+        int fieldCount = in.readInt();
+        List<CachedTypes.StaticFieldValue> staticFieldValues = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            staticFieldValues.add(new CachedTypes.StaticFieldValue(
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readBoolean(),
+                    readBytes(in)));
+        }
+        return Optional.of(new CachedTypes(factoryClassName, types, staticFieldValues));
+    }
+
+    static void write(OutputStream outputStream, String key, CachedTypes types) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(key);
+        out.writeUTF(types.getFactoryClassName());
+
+        out.writeInt(types.getTypes().size());
+        for (Map.Entry<String, byte[]> type : types.getTypes().entrySet()) {
+            out.writeUTF(type.getKey());
+            writeBytes(out, type.getValue());
+        }
+
+        out.writeInt(types.getStaticFieldValues().size());
+        for (CachedTypes.StaticFieldValue value : types.getStaticFieldValues()) {
+            out.writeUTF(value.getClassName());
+            out.writeUTF(value.getFieldName());
+            out.writeBoolean(value.isTranslator());
+            writeBytes(out, value.getValue());
+        }
+        out.flush();
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
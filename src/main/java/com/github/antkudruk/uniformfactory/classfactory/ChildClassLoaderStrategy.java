@@ -0,0 +1,58 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines the types of each origin class in a new class loader.
+ *
+ * Generated classes unload as soon as the wrapper factory, its wrappers
+ * and their classes are unreachable. It costs a class loader per origin class.
+ */
+public final class ChildClassLoaderStrategy implements WrapperClassLoadingStrategy {
+
+    public static final ChildClassLoaderStrategy INSTANCE
+            = new ChildClassLoaderStrategy(ChildClassLoaderStrategy.class.getClassLoader());
+
+    private final ClassLoader parent;
+
+    /**
+     * @param parent Class loader to resolve origin classes and wrapper interfaces in
+     */
+    public ChildClassLoaderStrategy(ClassLoader parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Map<String, Class<?>> define(Class<?> originClass, Map<String, byte[]> types) {
+        return defineAll(new GeneratedTypesClassLoader(parent, types), types);
+    }
+
+    static Map<String, Class<?>> defineAll(ClassLoader classLoader, Map<String, byte[]> types) {
+        Map<String, Class<?>> result = new HashMap<>();
+        try {
+            for (String name : types.keySet()) {
+                result.put(name, Class.forName(name, false, classLoader));
+            }
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("Can't define generated type " + ex.getMessage(), ex);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.util.Optional;
+
+/**
+ * Stores generated wrapper classes between JVM runs.
+ *
+ * The cache is a best effort: entries that can't be read are reported as
+ * missing, and entries that can't be written are skipped.
+ */
+public interface ClassCache {
+
+    /**
+     * @param key Hash of the origin class, the wrapper interface and the class factory configuration
+     * @return Cached types, if any
+     */
+    Optional<CachedTypes> load(String key);
+
+    /**
+     * @param key Hash of the origin class, the wrapper interface and the class factory configuration
+     * @param types Types to store
+     */
+    void store(String key, CachedTypes types);
+
+    /**
+     * Drops the entry that turned out to be stale.
+     *
+     * @param key Key of the entry
+     */
+    void invalidate(String key);
+}
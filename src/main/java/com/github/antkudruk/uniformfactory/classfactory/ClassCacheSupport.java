@@ -0,0 +1,289 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.base.MethodDescriptor;
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.CrossLoadersFunctionAdapter;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Converts generated wrapper types to {@link CachedTypes} and back.
+ *
+ * Generated types get translators and constants through their static fields.
+ * These values are serialized along with the bytecode, so types having
+ * a value that isn't serializable are never cached.
+ *
+ * Anyone able to write to a cache could make deserialization instantiate
+ * any class. So the values may only consist of serializable lambdas,
+ * strings, boxed primitives, enums and arrays of them. Other values aren't
+ * cached, and cache entries holding them are rejected.
+ */
+final class ClassCacheSupport {
+
+    // Increment on any change of the generated bytecode
+    private static final int GENERATOR_VERSION = 1;
+
+    private static final Set<Class<?>> SERIALIZABLE_TYPES = new HashSet<>(Arrays.asList(
+            SerializedLambda.class,
+            String.class,
+            Boolean.class,
+            Character.class,
+            Number.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            Enum.class));
+
+    private ClassCacheSupport() {
+    }
+
+    /**
+     * Hashes everything the generated types depend on. A changed origin class
+     * gets another key, so that stale entries are never loaded.
+     *
+     * @return Key, or nothing if the bytecode of the origin class isn't available
+     */
+    static Optional<String> getKey(Class<?> wrapperInterface,
+                                   Collection<MethodDescriptor> methodDescriptors,
+                                   String configurationVersion,
+                                   Class<?> originClass) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, String.valueOf(GENERATOR_VERSION));
+            update(digest, String.valueOf(ClassFactory.class.getPackage().getImplementationVersion()));
+            digest.update(readBytecode(originClass));
+            digest.update(readBytecode(wrapperInterface));
+            methodDescriptors.stream()
+                    .sorted(Comparator.comparing(t -> t.getWrapperMethod().toGenericString()))
+                    .forEach(t -> {
+                        update(digest, t.getWrapperMethod().toGenericString());
+                        update(digest, t.getClass().getName());
+                    });
+            update(digest, String.valueOf(configurationVersion));
+
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return Optional.of(key.toString());
+        } catch (NoSuchAlgorithmException | IOException | RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param loaded Loaded wrapper factory type along with the types it requires
+     * @return Types to cache, or nothing if a static field value isn't serializable
+     */
+    static Optional<CachedTypes> capture(DynamicType.Loaded<?> loaded) {
+        Map<String, byte[]> types = new HashMap<>();
+        for (Map.Entry<TypeDescription, byte[]> type : loaded.getAllTypes().entrySet()) {
+            types.put(type.getKey().getName(), type.getValue());
+        }
+
+        List<CachedTypes.StaticFieldValue> staticFieldValues = new ArrayList<>();
+        try {
+            for (Class<?> type : loaded.getAllLoaded().values()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = field.get(null);
+                    if (value == null) {
+                        continue;
+                    }
+                    boolean translator = value instanceof CrossLoadersFunctionAdapter;
+                    Object persisted = translator ? ((CrossLoadersFunctionAdapter) value).getFunction() : value;
+                    if (!(persisted instanceof Serializable)) {
+                        return Optional.empty();
+                    }
+                    staticFieldValues.add(new CachedTypes.StaticFieldValue(
+                            type.getName(),
+                            field.getName(),
+                            translator,
+                            serialize(persisted)));
+                }
+            }
+        } catch (IOException | ReflectiveOperationException | RuntimeException ex) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new CachedTypes(loaded.getTypeDescription().getName(), types, staticFieldValues));
+    }
+
+    /**
+     * Defines the cached types without any type building.
+     *
+     * @param cachedTypes Cached types
+     * @param classLoadingStrategy Strategy to define the types with
+     * @param originClass Origin class the types were generated for
+     * @return Wrapper factory
+     */
+    @SuppressWarnings("unchecked")
+    static <S, W> Function<S, W> define(CachedTypes cachedTypes,
+                                        WrapperClassLoadingStrategy classLoadingStrategy,
+                                        Class<?> originClass)
+            throws IOException, ReflectiveOperationException {
+        Map<String, Class<?>> classes = classLoadingStrategy.define(originClass, cachedTypes.getTypes());
+        Class<?> factoryClass = classes.get(cachedTypes.getFactoryClassName());
+        ClassLoader classLoader = factoryClass.getClassLoader();
+        for (CachedTypes.StaticFieldValue value : cachedTypes.getStaticFieldValues()) {
+            Field field = classes.get(value.getClassName())
+                    .getDeclaredField(value.getFieldName());
+            field.setAccessible(true);
+            Object deserialized = deserialize(value.getValue(), classLoader);
+            field.set(null, value.isTranslator()
+                    ? new CrossLoadersFunctionAdapter((Function<?, ?>) deserialized)
+                    : deserialized);
+        }
+        return (Function<S, W>) factoryClass
+                .getConstructor()
+                .newInstance();
+    }
+
+    private static byte[] readBytecode(Class<?> type) throws IOException {
+        String resource = type.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = type.getClassLoader();
+        try (InputStream in = classLoader == null
+                ? ClassLoader.getSystemResourceAsStream(resource)
+                : classLoader.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("No bytecode of " + type.getName());
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    // Instances of the other serializable types aren't allowed. Types that
+    // aren't serializable can't be instantiated by deserialization, but can
+    // be referred to, like the class capturing a lambda.
+    private static boolean isSerializable(Class<?> type) {
+        if (type.isArray()) {
+            return isSerializable(type.getComponentType());
+        }
+        return !Serializable.class.isAssignableFrom(type)
+                || type.isEnum()
+                || SERIALIZABLE_TYPES.contains(type);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new CheckingObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] value, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ClassLoaderObjectInputStream(new ByteArrayInputStream(value), classLoader)) {
+            return in.readObject();
+        }
+    }
+
+    private static final class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        private ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> type;
+            try {
+                type = Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException ex) {
+                type = super.resolveClass(desc);
+            }
+            if (!isSerializable(type)) {
+                throw new InvalidClassException(desc.getName(), "Not allowed in a class cache");
+            }
+            return type;
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxies aren't allowed in a class cache");
+        }
+    }
+
+    private static final class CheckingObjectOutputStream extends ObjectOutputStream {
+
+        private CheckingObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void annotateClass(Class<?> type) throws IOException {
+            if (!isSerializable(type)) {
+                throw new NotSerializableException(type.getName());
+            }
+        }
+
+        @Override
+        protected void annotateProxyClass(Class<?> type) throws IOException {
+            throw new NotSerializableException(type.getName());
+        }
+    }
+}
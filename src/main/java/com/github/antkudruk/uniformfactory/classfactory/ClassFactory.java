@@ -17,8 +17,12 @@
 package com.github.antkudruk.uniformfactory.classfactory;
 
 import com.github.antkudruk.uniformfactory.base.Enhancer;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.MethodDescriptor;
+import com.github.antkudruk.uniformfactory.base.MethodInterpreter;
+import com.github.antkudruk.uniformfactory.base.PackageAccess;
 import com.github.antkudruk.uniformfactory.base.bytecode.ReturnConstructedValueImplementation;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.container.WrapperFactory;
 import com.github.antkudruk.uniformfactory.container.WrapperMetaFactoryImpl;
 import com.github.antkudruk.uniformfactory.exception.AlienMethodException;
@@ -41,12 +45,15 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.matcher.ElementMatchers;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -62,11 +69,20 @@ public class ClassFactory<W> {
     @Getter
     private final Class<W> wrapperInterface;
     private final Map<Method, MethodDescriptor> methodDescriptorBuilders;
+    private final ClassCache classCache;
+    private final String configurationVersion;
+    private final WrapperClassLoadingStrategy classLoadingStrategy;
+    private final boolean packageAccess;
+    private volatile WrapperFactory<W> wrapperFactory;
 
     public ClassFactory(Builder<W> builder) throws ClassFactoryException {
 
         this.wrapperInterface = builder.wrapperInterface;
         this.methodDescriptorBuilders = builder.methodDescriptors;
+        this.classCache = builder.classCache;
+        this.configurationVersion = builder.configurationVersion;
+        this.classLoadingStrategy = builder.classLoadingStrategy;
+        this.packageAccess = builder.packageAccess;
         checkIfAllMethodsDescribed();
         validate();
     }
@@ -81,32 +97,38 @@ public class ClassFactory<W> {
     public DynamicType.Unloaded<W> build(TypeDescription originClass)
             throws ClassGeneratorException {
 
-        Map<Method, Enhancer> enhancers = new HashMap<>();
+        try (GeneratedNames.Scope ignored = GeneratedNames.openScope()) {
+            Map<Method, Enhancer> enhancers = new HashMap<>();
 
-        for (Map.Entry<Method, MethodDescriptor> entry : methodDescriptorBuilders.entrySet()) {
-            enhancers.put(
-                    entry.getKey(),
-                    entry.getValue().getEnhancer(originClass));
-        }
+            for (Map.Entry<Method, MethodDescriptor> entry : methodDescriptorBuilders.entrySet()) {
+                enhancers.put(
+                        entry.getKey(),
+                        entry.getValue().getEnhancer(originClass));
+            }
 
-        EnhancerBasedEnhancer enhancerBasedEnhancer = new EnhancerBasedEnhancer(enhancers.values());
+            EnhancerBasedEnhancer enhancerBasedEnhancer = new EnhancerBasedEnhancer(enhancers.values());
 
-        DynamicType.Builder<W> bbBuilder = new ByteBuddy()
-                .subclass(wrapperInterface, ConstructorStrategy.Default.NO_CONSTRUCTORS)
-                .defineConstructor(Visibility.PUBLIC)
-                .withParameters(originClass)
-                .intercept(enhancerBasedEnhancer.addInitiation(
-                        initialConstructorImplementation()
-                ))
-                .defineProperty(Constants.ORIGIN_FIELD_NAME, originClass, true);
+            DynamicType.Builder<W> bbBuilder = new ByteBuddy()
+                    .subclass(wrapperInterface, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .name(GeneratedNames.className(originClass, "Wrapper", wrapperInterface.getName()))
+                    .defineConstructor(Visibility.PUBLIC)
+                    .withParameters(originClass)
+                    .intercept(enhancerBasedEnhancer.addInitiation(
+                            initialConstructorImplementation()
+                    ))
+                    .defineProperty(Constants.ORIGIN_FIELD_NAME, originClass, true);
 
-        bbBuilder = enhancerBasedEnhancer.addMethod(bbBuilder);
+            bbBuilder = enhancerBasedEnhancer.addMethod(bbBuilder);
 
-        return bbBuilder.make();
+            return bbBuilder.make();
+        }
     }
 
     /**
+     * Generates the wrapper class for the {@code originClass} and loads it.
      *
+     * If the class factory has a class cache, the generated types are
+     * defined from the cache when possible and stored there otherwise.
      *
      * @param originClass
      * @return A function that creates an adapter for the consuming object
@@ -115,46 +137,217 @@ public class ClassFactory<W> {
      */
     @SneakyThrows(ReflectiveOperationException.class)
     public <S> Function<S, W> buildWrapperFactory(Class<S> originClass) throws ClassGeneratorException {
-        TypeDescription originTypeDescription = new TypeDescription.ForLoadedType(originClass);
-        DynamicType.Unloaded<W> wrapperType = build(new TypeDescription.ForLoadedType(originClass));
-        return new ByteBuddy()
-                .subclass(Function.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
-                .defineConstructor(Visibility.PUBLIC)
-                .intercept(
-                        MethodCall.invoke(
-                                new TypeDescription.ForLoadedType(Object.class)
-                                        .getDeclaredMethods()
-                                        .filter(ElementMatchers.isConstructor())
-                                        .filter(ElementMatchers.takesNoArguments())
-                                        .getOnly()
-                        )
-                )
-                .defineMethod("apply", Object.class, Visibility.PUBLIC)
-                .withParameters(Object.class)
-                .intercept(
-                        new ReturnConstructedValueImplementation(
-                                wrapperType.getTypeDescription(),
-                                originTypeDescription
-                        )
-                )
-                .require(wrapperType)
-                .make()
-                .load(getClass().getClassLoader())
-                .getLoaded()
+        if (classCache != null) {
+            Optional<Function<S, W>> cached = packageAccess
+                    ? loadCached(originClass, true)
+                    : Optional.empty();
+            if (!cached.isPresent()) {
+                cached = loadCached(originClass, false);
+            }
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        GeneratedTypes generated = generateWrapperFactoryType(originClass);
+        DynamicType.Loaded<?> loaded = generated.getLoaded();
+
+        if (classCache != null) {
+            getCacheKey(originClass, generated.isInPackage())
+                    .ifPresent(key -> ClassCacheSupport.capture(loaded)
+                            .ifPresent(types -> classCache.store(key, types)));
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<S, W> result = (Function<S, W>) loaded.getLoaded()
                 .getConstructor()
                 .newInstance();
+        return result;
+    }
+
+    /**
+     * @param inPackage Whether the classes are generated with package access
+     * @return Key of the wrapper classes for {@code originClass} in a class cache
+     */
+    Optional<String> getCacheKey(Class<?> originClass, boolean inPackage) {
+        // Types generated with package access have to be defined in the package of the origin class.
+        // The fallback types don't, and they're the same as the ones generated without package access.
+        return ClassCacheSupport.getKey(
+                wrapperInterface,
+                methodDescriptorBuilders.values(),
+                inPackage ? configurationVersion + "+packageAccess" : configurationVersion,
+                originClass);
+    }
+
+    /**
+     * Generates and loads the class implementing {@code Function} that creates
+     * wrappers, along with the wrapper class and the classes it requires.
+     */
+    GeneratedTypes generateWrapperFactoryType(Class<?> originClass) throws ClassGeneratorException {
+        if (packageAccess) {
+            try {
+                return new GeneratedTypes(generateWrapperFactoryType(originClass, true), true);
+            } catch (PackageAccessDenied ex) {
+                // Regenerate the types to access origin members the usual way
+            }
+        }
+        return new GeneratedTypes(generateWrapperFactoryType(originClass, false), false);
+    }
+
+    private DynamicType.Loaded<?> generateWrapperFactoryType(Class<?> originClass, boolean inPackage)
+            throws ClassGeneratorException {
+        TypeDescription originTypeDescription = TypeDescriptions.of(originClass);
+        try (GeneratedNames.Scope ignored = GeneratedNames.openScope();
+             PackageAccess.Scope ignoredAccess = PackageAccess.grant(inPackage)) {
+            DynamicType.Unloaded<W> wrapperType = build(originTypeDescription);
+            return new ByteBuddy()
+                    .subclass(Function.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .name(GeneratedNames.className(originTypeDescription, "Factory", wrapperInterface.getName()))
+                    .defineConstructor(Visibility.PUBLIC)
+                    .intercept(
+                            MethodCall.invoke(
+                                    TypeDescriptions.of(Object.class)
+                                            .getDeclaredMethods()
+                                            .filter(ElementMatchers.isConstructor())
+                                            .filter(ElementMatchers.takesNoArguments())
+                                            .getOnly()
+                            )
+                    )
+                    .defineMethod("apply", Object.class, Visibility.PUBLIC)
+                    .withParameters(Object.class)
+                    .intercept(
+                            new ReturnConstructedValueImplementation(
+                                    wrapperType.getTypeDescription(),
+                                    originTypeDescription
+                            )
+                    )
+                    .require(wrapperType)
+                    .make()
+                    .load(originClass.getClassLoader(), (classLoader, types) -> define(originClass, types, inPackage));
+        }
+    }
+
+    private Map<TypeDescription, Class<?>> define(Class<?> originClass,
+                                                  Map<TypeDescription, byte[]> types,
+                                                  boolean inPackage) {
+        Map<String, byte[]> namedTypes = new HashMap<>();
+        for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+            namedTypes.put(type.getKey().getName(), type.getValue());
+        }
+        Map<String, Class<?>> classes = inPackage
+                ? defineInPackage(originClass, namedTypes)
+                : classLoadingStrategy.define(originClass, namedTypes);
+        Map<TypeDescription, Class<?>> result = new HashMap<>();
+        for (TypeDescription type : types.keySet()) {
+            result.put(type, classes.get(type.getName()));
+        }
+        return result;
+    }
+
+    private Map<String, Class<?>> defineInPackage(Class<?> originClass, Map<String, byte[]> types) {
+        return classLoadingStrategy.defineInPackage(originClass, types).orElseThrow(PackageAccessDenied::new);
+    }
+
+    private <S> Optional<Function<S, W>> loadCached(Class<S> originClass, boolean inPackage) {
+        Optional<String> key = getCacheKey(originClass, inPackage);
+        Optional<CachedTypes> cachedTypes = key.flatMap(classCache::load);
+        if (cachedTypes.isPresent()) {
+            try {
+                return Optional.of(ClassCacheSupport.define(
+                        cachedTypes.get(),
+                        inPackage ? this::defineInPackage : classLoadingStrategy,
+                        originClass));
+            } catch (PackageAccessDenied ex) {
+                return Optional.empty();
+            } catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError ex) {
+                // Stale or broken entry, regenerate it
+                classCache.invalidate(key.get());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a function that interprets wrapper methods by reflection for
+     * the first {@code promotionThreshold} invocations and generates the
+     * wrapper class after that.
+     *
+     * If any of the wrapper methods can't be interpreted for the {@code originClass},
+     * the wrapper class is generated right away.
+     *
+     * @param originClass Origin class
+     * @param promotionThreshold Number of interpreted invocations before the generation
+     * @param promotionExecutor Executor to generate the wrapper class on,
+     *                          {@code null} to generate it in the invoking thread
+     * @return A function that creates an adapter for the consuming object
+     * @param <S> Origin class
+     * @throws ClassGeneratorException Thrown if the wrapper class is generated right away and fails
+     */
+    public <S> Function<S, W> buildTieredWrapperFactory(
+            Class<S> originClass,
+            int promotionThreshold,
+            Executor promotionExecutor) throws ClassGeneratorException {
+
+        Optional<Map<Method, MethodInterpreter>> interpreters = getInterpreters(originClass);
+        if (!interpreters.isPresent()) {
+            return buildWrapperFactory(originClass);
+        }
+        return new TieredClassContainer<>(
+                this,
+                originClass,
+                interpreters.get(),
+                promotionThreshold,
+                promotionExecutor);
+    }
+
+    private Optional<Map<Method, MethodInterpreter>> getInterpreters(Class<?> originClass) {
+        // Proxies implement interfaces only, and can't call default methods on Java 8
+        if (!wrapperInterface.isInterface()) {
+            return Optional.empty();
+        }
+        Map<Method, MethodInterpreter> interpreters = new HashMap<>();
+        for (Method method : wrapperInterface.getMethods()) {
+            MethodDescriptor methodDescriptor = methodDescriptorBuilders.get(method);
+            if (methodDescriptor != null) {
+                Optional<MethodInterpreter> interpreter = methodDescriptor.getInterpreter(originClass);
+                if (!interpreter.isPresent()) {
+                    return Optional.empty();
+                }
+                interpreters.put(method, interpreter.get());
+            } else if (!isOriginGetter(method)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(interpreters);
+    }
+
+    private static boolean isOriginGetter(Method method) {
+        return "getOrigin".equals(method.getName())
+                && method.getParameterCount() == 0
+                && !method.isDefault();
     }
 
     /**
      * A smart version of the method {@code buildWrapperFactory}
      *
      * Returns a factory that caches wrapper classes for each origin type.
+     * The factory is shared by all the callers of this class factory instance,
+     * so wrapper classes are generated once per origin type.
      *
-     * Creates container to hold adapters for your objects.
-     * @return New container instance
+     * @return Container to hold adapters for your objects
      */
     public WrapperFactory<W> buildWrapperFactory() {
-        return WrapperMetaFactoryImpl.INSTANCE.get(this);
+        WrapperFactory<W> result = wrapperFactory;
+        if (result == null) {
+            synchronized (this) {
+                result = wrapperFactory;
+                if (result == null) {
+                    result = WrapperMetaFactoryImpl.INSTANCE.get(this);
+                    wrapperFactory = result;
+                }
+            }
+        }
+        return result;
     }
 
     private void validate() throws ClassFactoryException {
@@ -235,6 +428,10 @@ public class ClassFactory<W> {
 
         private final Class<W> wrapperInterface;
         private final Map<Method, MethodDescriptor> methodDescriptors = new HashMap<>();
+        private ClassCache classCache;
+        private String configurationVersion;
+        private WrapperClassLoadingStrategy classLoadingStrategy = ChildClassLoaderStrategy.INSTANCE;
+        private boolean packageAccess;
 
         public Builder(Class<W> wrapperInterface) {
             this.wrapperInterface = wrapperInterface;
@@ -289,8 +486,82 @@ public class ClassFactory<W> {
             return new BbImplementationMethodDescriptor.ShortcutBuilder<>(this, wrapperMethod);
         }
 
+        /**
+         * Sets the cache to keep generated wrapper classes between JVM runs.
+         *
+         * Entries are keyed by the bytecode of the origin class and the wrapper
+         * interface, wrapper methods and {@code configurationVersion}. Translators
+         * can't be compared, so change {@code configurationVersion} each time you
+         * change translators or other settings of the descriptors.
+         *
+         * Only the wrapper classes whose translators and constants are
+         * serializable are cached.
+         *
+         * @param classCache Class cache
+         * @param configurationVersion Version of the class factory configuration
+         * @return This builder
+         */
+        public Builder<W> setClassCache(ClassCache classCache, String configurationVersion) {
+            this.classCache = classCache;
+            this.configurationVersion = configurationVersion;
+            return this;
+        }
+
+        /**
+         * Sets the strategy to define generated types with.
+         * {@link ChildClassLoaderStrategy#INSTANCE} is used by default.
+         *
+         * @param classLoadingStrategy Class loading strategy
+         * @return This builder
+         */
+        public Builder<W> setClassLoadingStrategy(WrapperClassLoadingStrategy classLoadingStrategy) {
+            this.classLoadingStrategy = classLoadingStrategy;
+            return this;
+        }
+
+        /**
+         * Sets whether to generate wrapper classes accessing non-private fields
+         * of the origin class package directly, instead of through method handles.
+         *
+         * Works with class loading strategies defining the types in the runtime
+         * package of the origin class, like {@link LookupClassLoadingStrategy}.
+         * If the types can't be defined there, they're regenerated to access
+         * the fields the usual way.
+         *
+         * @param packageAccess {@code true} to access package fields directly
+         * @return This builder
+         */
+        public Builder<W> setPackageAccess(boolean packageAccess) {
+            this.packageAccess = packageAccess;
+            return this;
+        }
+
         public ClassFactory<W> build() throws ClassFactoryException {
             return new ClassFactory<>(this);
         }
     }
+
+    /**
+     * Generated wrapper factory type along with the way it accesses origin members.
+     */
+    @Getter
+    static final class GeneratedTypes {
+        private final DynamicType.Loaded<?> loaded;
+        private final boolean inPackage;
+
+        private GeneratedTypes(DynamicType.Loaded<?> loaded, boolean inPackage) {
+            this.loaded = loaded;
+            this.inPackage = inPackage;
+        }
+    }
+
+    /**
+     * Thrown if the types generated with package access can't be defined
+     * in the runtime package of the origin class.
+     */
+    private static final class PackageAccessDenied extends RuntimeException {
+        PackageAccessDenied() {
+            super(null, null, false, false);
+        }
+    }
 }
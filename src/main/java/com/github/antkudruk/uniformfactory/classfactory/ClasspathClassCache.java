@@ -0,0 +1,60 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Loads wrapper classes generated at build time by {@link WrapperPrecompiler}
+ * from the resources of a class loader. The cache is read-only.
+ */
+public final class ClasspathClassCache implements ClassCache {
+
+    public static final String LOCATION = "META-INF/uniformfactory/";
+
+    private final ClassLoader classLoader;
+
+    public ClasspathClassCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Optional<CachedTypes> load(String key) {
+        InputStream resource = classLoader.getResourceAsStream(LOCATION + key + CachedTypesFormat.EXTENSION);
+        if (resource == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = new BufferedInputStream(resource)) {
+            return CachedTypesFormat.read(in, key);
+        } catch (IOException | RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void store(String key, CachedTypes types) {
+        // Precompiled classes are written by WrapperPrecompiler only
+    }
+
+    @Override
+    public void invalidate(String key) {
+        // Resources can't be dropped. A stale entry is regenerated on each start.
+    }
+}
@@ -0,0 +1,96 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps each cache entry in a separate file of the directory.
+ *
+ * Entries are written to a temporary file and moved in place, so that
+ * concurrent JVMs sharing the directory never read a partial entry.
+ * An entry of an unknown format or of another key is dropped.
+ */
+public final class DirectoryClassCache implements ClassCache {
+
+    private final Path directory;
+
+    public DirectoryClassCache(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<CachedTypes> load(String key) {
+        Path file = getFile(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            Optional<CachedTypes> types = CachedTypesFormat.read(in, key);
+            if (!types.isPresent()) {
+                invalidate(key);
+            }
+            return types;
+        } catch (IOException | RuntimeException ex) {
+            invalidate(key);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void store(String key, CachedTypes types) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                CachedTypesFormat.write(out, key, types);
+            }
+            Files.move(temporaryFile, getFile(key),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        deleteQuietly(getFile(key));
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + CachedTypesFormat.EXTENSION);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // The entry is overwritten or dropped next time
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines generated types on demand, so that they can refer to each other
+ * in any order. The bytecode is dropped once the type is defined.
+ *
+ * Generated types are looked up before the parent class loader, since
+ * the parent might have types of the same names generated before.
+ *
+ * Types are added until the class loader is unreachable, so a single class
+ * loader might hold the types of several origin classes.
+ */
+final class GeneratedTypesClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> types;
+
+    GeneratedTypesClassLoader(ClassLoader parent, Map<String, byte[]> types) {
+        super(parent);
+        this.types = new HashMap<>(types);
+    }
+
+    /**
+     * Adds the types to define, unless any of them has the name of a type
+     * this class loader already has.
+     *
+     * @param types Bytecode by type name
+     * @return {@code false} if the types haven't been added because of a name conflict
+     */
+    synchronized boolean addTypes(Map<String, byte[]> types) {
+        for (String name : types.keySet()) {
+            if (this.types.containsKey(name) || findLoadedClass(name) != null) {
+                return false;
+            }
+        }
+        this.types.putAll(types);
+        return true;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = findLoadedClass(name);
+            if (type == null && types.containsKey(name)) {
+                type = findClass(name);
+            }
+            if (type == null) {
+                return super.loadClass(name, resolve);
+            }
+            if (resolve) {
+                resolveClass(type);
+            }
+            return type;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = types.remove(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import net.bytebuddy.dynamic.loading.ClassInjector;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Defines generated types right in the class loader and the package of
+ * the origin class, without creating class loaders.
+ *
+ * On Java 9 and later, the types are defined with a private lookup in the
+ * origin class. On Java 8, they're injected into the origin class loader
+ * by reflection. Origin classes of the bootstrap loader or of a package
+ * the types can't be defined in fall back to {@link ChildClassLoaderStrategy}.
+ * So do the types that already exist in the origin class loader, since
+ * generated type names are the same for the same origin class.
+ *
+ * Generated classes unload along with the class loader of the origin class only.
+ *
+ * The strategy supports {@link #defineInPackage(Class, Map)}, it doesn't fall
+ * back there.
+ */
+public final class LookupClassLoadingStrategy implements WrapperClassLoadingStrategy {
+
+    public static final LookupClassLoadingStrategy INSTANCE
+            = new LookupClassLoadingStrategy(ChildClassLoaderStrategy.INSTANCE);
+
+    private final WrapperClassLoadingStrategy fallback;
+
+    /**
+     * @param fallback Strategy for the origin classes the types can't be defined next to
+     */
+    public LookupClassLoadingStrategy(WrapperClassLoadingStrategy fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Map<String, Class<?>> define(Class<?> originClass, Map<String, byte[]> types) {
+        Optional<Map<String, Class<?>>> classes = defineInPackage(originClass, types);
+        return classes.isPresent() ? classes.get() : fallback.define(originClass, types);
+    }
+
+    @Override
+    public Optional<Map<String, Class<?>>> defineInPackage(Class<?> originClass, Map<String, byte[]> types) {
+        ClassLoader classLoader = originClass.getClassLoader();
+        if (classLoader == null || !inPackageOf(originClass, types) || anyDefined(classLoader, types)) {
+            return Optional.empty();
+        }
+        ClassInjector classInjector;
+        try {
+            if (ClassInjector.UsingLookup.isAvailable()) {
+                classInjector = ClassInjector.UsingLookup.of(MethodHandles.lookup()).in(originClass);
+            } else if (ClassInjector.UsingReflection.isAvailable()) {
+                classInjector = new ClassInjector.UsingReflection(classLoader);
+            } else {
+                return Optional.empty();
+            }
+        } catch (RuntimeException ex) {
+            // The package of the origin class isn't open to this library
+            return Optional.empty();
+        }
+        return Optional.of(classInjector.injectRaw(types));
+    }
+
+    private static boolean anyDefined(ClassLoader classLoader, Map<String, byte[]> types) {
+        for (String name : types.keySet()) {
+            try {
+                Class.forName(name, false, classLoader);
+                return true;
+            } catch (ClassNotFoundException ex) {
+                // Expected for a new type
+            }
+        }
+        return false;
+    }
+
+    private static boolean inPackageOf(Class<?> originClass, Map<String, byte[]> types) {
+        String packagePrefix = packagePrefix(originClass.getName());
+        return types.keySet().stream().allMatch(t -> packagePrefix.equals(packagePrefix(t)));
+    }
+
+    private static String packagePrefix(String className) {
+        return className.substring(0, className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Defines the types of all origin classes in a single class loader.
+ *
+ * Unlike {@link ChildClassLoaderStrategy}, it doesn't create a class loader
+ * per origin class, saving the metaspace and the bookkeeping of thousands of
+ * class loaders. The generated classes unload all together as soon as the
+ * strategy, the wrapper factories and their wrappers are unreachable.
+ * Therefore, create an instance per class factory.
+ *
+ * Types having the names of types defined before, like types generated for
+ * an origin class twice, are defined by {@link ChildClassLoaderStrategy}.
+ */
+public final class SharedClassLoaderStrategy implements WrapperClassLoadingStrategy {
+
+    private final GeneratedTypesClassLoader classLoader;
+    private final WrapperClassLoadingStrategy fallback;
+
+    public SharedClassLoaderStrategy() {
+        this(SharedClassLoaderStrategy.class.getClassLoader());
+    }
+
+    /**
+     * @param parent Class loader to resolve origin classes and wrapper interfaces in
+     */
+    public SharedClassLoaderStrategy(ClassLoader parent) {
+        this.classLoader = new GeneratedTypesClassLoader(parent, Collections.emptyMap());
+        this.fallback = new ChildClassLoaderStrategy(parent);
+    }
+
+    @Override
+    public Map<String, Class<?>> define(Class<?> originClass, Map<String, byte[]> types) {
+        if (!classLoader.addTypes(types)) {
+            return fallback.define(originClass, types);
+        }
+        return ChildClassLoaderStrategy.defineAll(classLoader, types);
+    }
+}
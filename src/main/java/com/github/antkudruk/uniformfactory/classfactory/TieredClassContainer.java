@@ -0,0 +1,157 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.base.MethodInterpreter;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Creates wrappers for an origin class in two tiers.
+ *
+ * At first, wrappers are proxies interpreting wrapper methods by reflection.
+ * Once wrapper methods of this origin class have been invoked
+ * {@code promotionThreshold} times, the wrapper class is generated, and
+ * generated wrappers are created since then. Proxies created before that
+ * delegate to generated wrappers.
+ *
+ * If the generation fails, wrappers keep being interpreted.
+ *
+ * @param <S> Origin class
+ * @param <W> Wrapper class
+ */
+final class TieredClassContainer<S, W> implements Function<S, W> {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final ClassFactory<W> classFactory;
+    private final Class<S> originClass;
+    private final Map<Method, MethodInterpreter> interpreters;
+    private final int promotionThreshold;
+    private final Executor promotionExecutor;
+    private final Class<?>[] proxyInterfaces;
+    private final AtomicInteger invocations = new AtomicInteger();
+    private volatile Function<S, W> generated;
+
+    /**
+     * @param promotionExecutor Executor to generate the wrapper class,
+     *                          {@code null} to generate it in the invoking thread.
+     */
+    TieredClassContainer(ClassFactory<W> classFactory,
+                         Class<S> originClass,
+                         Map<Method, MethodInterpreter> interpreters,
+                         int promotionThreshold,
+                         Executor promotionExecutor) {
+        this.classFactory = classFactory;
+        this.originClass = originClass;
+        this.interpreters = interpreters;
+        this.promotionThreshold = promotionThreshold;
+        this.promotionExecutor = promotionExecutor;
+        this.proxyInterfaces = new Class<?>[]{classFactory.getWrapperInterface()};
+    }
+
+    @Override
+    public W apply(S origin) {
+        Function<S, W> classContainer = generated;
+        if (classContainer != null) {
+            return classContainer.apply(origin);
+        }
+        Class<W> wrapperInterface = classFactory.getWrapperInterface();
+        return wrapperInterface.cast(Proxy.newProxyInstance(
+                wrapperInterface.getClassLoader(),
+                proxyInterfaces,
+                new Interpreter(origin)));
+    }
+
+    boolean isPromoted() {
+        return generated != null;
+    }
+
+    private void promote() {
+        if (promotionExecutor == null) {
+            generate();
+        } else {
+            promotionExecutor.execute(this::generate);
+        }
+    }
+
+    private void generate() {
+        try {
+            generated = classFactory.buildWrapperFactory(originClass);
+        } catch (ClassGeneratorException | RuntimeException ex) {
+            // The interpreter keeps working
+        }
+    }
+
+    private final class Interpreter implements InvocationHandler {
+
+        private final S origin;
+        private W delegate;
+
+        private Interpreter(S origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, arguments);
+            }
+
+            Function<S, W> classContainer = generated;
+            if (classContainer != null) {
+                if (delegate == null) {
+                    delegate = classContainer.apply(origin);
+                }
+                try {
+                    return method.invoke(delegate, arguments);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+
+            if (invocations.incrementAndGet() == promotionThreshold) {
+                promote();
+            }
+
+            MethodInterpreter interpreter = interpreters.get(method);
+            // The only method without an interpreter is the origin getter
+            return interpreter == null
+                    ? origin
+                    : interpreter.invoke(origin, arguments == null ? NO_ARGUMENTS : arguments);
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] arguments) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+        }
+    }
+}
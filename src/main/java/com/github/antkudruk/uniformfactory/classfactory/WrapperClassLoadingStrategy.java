@@ -0,0 +1,54 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Defines the types generated for an origin class: the wrapper factory,
+ * the wrapper and the classes the wrapper requires.
+ *
+ * Generated types refer to each other by name, so all of them have to
+ * be defined in the same class loader.
+ *
+ * @see ChildClassLoaderStrategy
+ * @see LookupClassLoadingStrategy
+ */
+public interface WrapperClassLoadingStrategy {
+
+    /**
+     * @param originClass Origin class the types are generated for
+     * @param types Bytecode by type name
+     * @return Defined classes by type name
+     * @throws IllegalStateException Thrown if the types can't be defined
+     */
+    Map<String, Class<?>> define(Class<?> originClass, Map<String, byte[]> types);
+
+    /**
+     * Defines the types in the runtime package of the origin class, so that
+     * they can access package private members of the origin class directly.
+     *
+     * @param originClass Origin class the types are generated for
+     * @param types Bytecode by type name
+     * @return Defined classes by type name, or nothing if the types can't be defined there
+     * @see ClassFactory.Builder#setPackageAccess(boolean)
+     */
+    default Optional<Map<String, Class<?>>> defineInPackage(Class<?> originClass, Map<String, byte[]> types) {
+        return Optional.empty();
+    }
+}
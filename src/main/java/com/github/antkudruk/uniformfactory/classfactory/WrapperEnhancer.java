@@ -19,6 +19,7 @@ package com.github.antkudruk.uniformfactory.classfactory;
 import com.github.antkudruk.uniformfactory.base.Enhancer;
 import com.github.antkudruk.uniformfactory.base.bytecode.InitFieldUsingClassInstanceMethodImplementation;
 import com.github.antkudruk.uniformfactory.base.bytecode.InitFieldWithConstructorFieldUsingThisImplementation;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.pluginbuilder.MetaClassFactory;
 import lombok.RequiredArgsConstructor;
 import net.bytebuddy.description.type.TypeDescription;
@@ -99,7 +100,7 @@ public class WrapperEnhancer implements Enhancer {
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
                 .defineField(classFactoryGeneratorFieldName, Function.class,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
-                .define(new TypeDescription.ForLoadedType(originInterface)
+                .define(TypeDescriptions.of(originInterface)
                         .getDeclaredMethods()
                         .filter(ElementMatchers.named(getWrapperMethodName))
                         .getOnly())
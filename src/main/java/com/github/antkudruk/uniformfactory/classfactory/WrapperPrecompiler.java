@@ -0,0 +1,93 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates wrapper classes at build time.
+ *
+ * Writes the wrapper, atom and factory classes generated for each origin
+ * class into the output directory under {@link ClasspathClassCache#LOCATION},
+ * one entry per origin class named by its cache key. Package the output
+ * directory with the application, and set up the class factory with
+ * {@link ClasspathClassCache} and the same configuration version to load the
+ * classes without generation:
+ *
+ * {@code
+ * ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+ *         ...
+ *         .setClassCache(new ClasspathClassCache(classLoader), "1")
+ *         .build();
+ * new WrapperPrecompiler(Paths.get("build/classes/java/main"))
+ *         .precompile(classFactory, originClasses);
+ * }
+ *
+ * Run it on the classes the application is going to load, i.e. after
+ * the Maven/Gradle plugin has been applied, since the entries are keyed
+ * by the bytecode of origin classes.
+ */
+public final class WrapperPrecompiler {
+
+    private final Path outputDirectory;
+
+    public WrapperPrecompiler(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * @param classFactory Class factory to generate wrapper classes with
+     * @param originClasses Origin classes
+     * @return Origin classes that can't be precompiled, because their bytecode
+     *         isn't available or their translators aren't serializable
+     * @throws ClassGeneratorException Thrown if a wrapper class generation fails
+     * @throws IOException Thrown if the output can't be written
+     */
+    public List<Class<?>> precompile(ClassFactory<?> classFactory, Collection<Class<?>> originClasses)
+            throws ClassGeneratorException, IOException {
+
+        Path location = outputDirectory.resolve(ClasspathClassCache.LOCATION);
+        Files.createDirectories(location);
+        List<Class<?>> skipped = new ArrayList<>();
+
+        for (Class<?> originClass : originClasses) {
+            ClassFactory.GeneratedTypes generated = classFactory.generateWrapperFactoryType(originClass);
+            Optional<String> key = classFactory.getCacheKey(originClass, generated.isInPackage());
+            Optional<CachedTypes> types = ClassCacheSupport.capture(generated.getLoaded());
+            if (key.isPresent() && types.isPresent()) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(
+                        location.resolve(key.get() + CachedTypesFormat.EXTENSION)))) {
+                    CachedTypesFormat.write(out, key.get(), types.get());
+                }
+            } else {
+                skipped.add(originClass);
+            }
+        }
+
+        return skipped;
+    }
+}
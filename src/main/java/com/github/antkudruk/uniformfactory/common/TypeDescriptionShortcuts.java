@@ -56,7 +56,7 @@ public class TypeDescriptionShortcuts {
             Class<?>... parameters
     ) {
         return findMethod(
-                new TypeDescription.ForLoadedType(type),
+                TypeDescriptions.of(type),
                 name,
                 parameters);
     }
@@ -86,7 +86,7 @@ public class TypeDescriptionShortcuts {
             Class<?> returnType,
             String name,
             Class<?>... parameterTypes) {
-        return findStaticMethod(new TypeDescription.ForLoadedType(type),
+        return findStaticMethod(TypeDescriptions.of(type),
                 returnType,
                 name,
                 parameterTypes
@@ -117,7 +117,7 @@ public class TypeDescriptionShortcuts {
 
     public static Optional<MethodDescription.InDefinedShape> findConstructor(
             Class<?> type, Class<?>... parameters) {
-        return findConstructor(new TypeDescription.ForLoadedType(type), parameters);
+        return findConstructor(TypeDescriptions.of(type), parameters);
     }
 
     public static Optional<MethodDescription.InDefinedShape> findConstructor(
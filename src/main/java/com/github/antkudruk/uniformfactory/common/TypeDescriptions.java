@@ -0,0 +1,41 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.common;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+/**
+ * Shares descriptions of loaded types between all the generations.
+ *
+ * A description of a loaded type resolves its fields, methods and annotations
+ * by reflection on first access and keeps them. A new description per lookup
+ * repeats the reflection, so descriptions are cached per class. The cache
+ * doesn't prevent the classes from being unloaded. Thread safe.
+ */
+public class TypeDescriptions {
+
+    private static final ClassValue<TypeDescription> DESCRIPTIONS = new ClassValue<TypeDescription>() {
+        @Override
+        protected TypeDescription computeValue(Class<?> type) {
+            return new TypeDescription.ForLoadedType(type);
+        }
+    };
+
+    public static TypeDescription of(Class<?> type) {
+        return DESCRIPTIONS.get(type);
+    }
+}
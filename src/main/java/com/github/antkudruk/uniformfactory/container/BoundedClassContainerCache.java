@@ -0,0 +1,79 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps at most {@code maximumSize} wrapper class factories, evicting the
+ * least recently used one.
+ *
+ * Evicted factories aren't referenced by the cache anymore. As long as
+ * the client code doesn't keep wrappers of the evicted origin class, its
+ * generated classes are unloaded together with their class loader.
+ *
+ * @param <W> Wrapper class
+ */
+public final class BoundedClassContainerCache<W> implements ClassContainerCache<W> {
+
+    private final int maximumSize;
+    private final Map<Class<?>, Function<?, W>> classContainers;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public BoundedClassContainerCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size should be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.classContainers = new LinkedHashMap<Class<?>, Function<?, W>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Class<?>, Function<?, W>> eldest) {
+                if (size() > BoundedClassContainerCache.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Function<?, W> get(Class<?> originClass) {
+        Function<?, W> classContainer = classContainers.get(originClass);
+        if (classContainer != null) {
+            hitCount++;
+        }
+        return classContainer;
+    }
+
+    /**
+     * Every put follows a generation of a wrapper class, so it's counted as a miss.
+     */
+    @Override
+    public synchronized void put(Class<?> originClass, Function<?, W> classContainer) {
+        missCount++;
+        classContainers.put(originClass, classContainer);
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized int size() {
+        return classContainers.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import java.util.function.Function;
+
+/**
+ * Keeps wrapper class factories generated for origin classes.
+ *
+ * @param <W> Wrapper class
+ */
+public interface ClassContainerCache<W> {
+
+    /**
+     * @param originClass Origin class
+     * @return Wrapper class factory or {@code null} if it hasn't been generated yet
+     */
+    Function<?, W> get(Class<?> originClass);
+
+    void put(Class<?> originClass, Function<?, W> classContainer);
+}
@@ -0,0 +1,36 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import java.util.function.Function;
+
+/**
+ * Associates wrapper class factories with origin classes by {@link ClassValue}.
+ *
+ * The cache doesn't hold origin classes. A wrapper class factory is reachable
+ * from its origin class only, so generated classes can be unloaded together
+ * with the class loader of the origin class.
+ *
+ * @param <W> Wrapper class
+ */
+public final class ClassValueClassContainerCache<W> implements ClassContainerCache<W> {
+
+    private final ClassValue<Holder<W>> holders = new ClassValue<Holder<W>>() {
+        @Override
+        protected Holder<W> computeValue(Class<?> type) {
+            return new Holder<>();
+        }
+    };
+
+    @Override
+    public Function<?, W> get(Class<?> originClass) {
+        return holders.get(originClass).classContainer;
+    }
+
+    @Override
+    public void put(Class<?> originClass, Function<?, W> classContainer) {
+        holders.get(originClass).classContainer = classContainer;
+    }
+
+    private static final class Holder<W> {
+        private volatile Function<?, W> classContainer;
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Returns the same wrapper for the same origin instance.
+ *
+ * Origins are compared by identity and held weakly. Wrappers refer to their
+ * origins, so they're held softly: a wrapper nobody uses anymore is dropped
+ * under memory pressure, and after that its origin can be collected.
+ *
+ * Looking up an existing wrapper doesn't allocate.
+ *
+ * @param <W> Wrapper class
+ */
+public final class IdentityWrapperFactory<W> implements WrapperFactory<W> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final WrapperFactory<W> wrapperFactory;
+    private final ReferenceQueue<Object> collectedOrigins = new ReferenceQueue<>();
+    private volatile Entry<W>[] table = newTable(INITIAL_CAPACITY);
+    private int size;
+
+    public IdentityWrapperFactory(WrapperFactory<W> wrapperFactory) {
+        this.wrapperFactory = wrapperFactory;
+    }
+
+    @Override
+    public <E> W get(E object) throws ClassGeneratorException {
+        Objects.requireNonNull(object);
+        int hash = System.identityHashCode(object);
+        W wrapper = find(table, object, hash);
+        return wrapper != null
+                ? wrapper
+                : createWrapper(object, hash, wrapperFactory.getClassContainer(object.getClass()));
+    }
+
+    @Override
+    public <E> Function<E, W> getClassContainer(Class<? extends E> originClass) throws ClassGeneratorException {
+        Function<E, W> classContainer = wrapperFactory.getClassContainer(originClass);
+        return object -> {
+            int hash = System.identityHashCode(object);
+            W wrapper = find(table, object, hash);
+            return wrapper != null ? wrapper : createWrapper(object, hash, classContainer);
+        };
+    }
+
+    @Override
+    public CompletableFuture<Void> prewarm(Collection<Class<?>> originClasses) {
+        return wrapperFactory.prewarm(originClasses);
+    }
+
+    private synchronized <E> W createWrapper(E object, int hash, Function<? super E, W> classContainer) {
+        expungeCollectedOrigins();
+        W wrapper = find(table, object, hash);
+        if (wrapper == null) {
+            wrapper = classContainer.apply(object);
+            Entry<W>[] current = table;
+            int index = indexFor(hash, current.length);
+            int before = length(current[index]);
+            Entry<W> head = copyAlive(current[index], object);
+            current[index] = new Entry<>(object, hash, new SoftReference<>(wrapper), collectedOrigins, head);
+            size += length(current[index]) - before;
+            if (size > current.length * 3 / 4) {
+                resize();
+            }
+        }
+        return wrapper;
+    }
+
+    private void expungeCollectedOrigins() {
+        Entry<W>[] current = table;
+        for (Reference<?> reference; (reference = collectedOrigins.poll()) != null; ) {
+            int index = indexFor(((Entry<?>) reference).hash, current.length);
+            int before = length(current[index]);
+            current[index] = copyAlive(current[index], null);
+            size -= before - length(current[index]);
+        }
+    }
+
+    private void resize() {
+        Entry<W>[] current = table;
+        Entry<W>[] resized = newTable(current.length * 2);
+        for (Entry<W> head : current) {
+            for (Entry<W> e = head; e != null; e = e.next) {
+                Object origin = e.get();
+                if (origin != null) {
+                    int index = indexFor(e.hash, resized.length);
+                    resized[index] = new Entry<>(origin, e.hash, e.wrapper, collectedOrigins, resized[index]);
+                }
+            }
+        }
+        table = resized;
+    }
+
+    /**
+     * Copies the chain skipping entries of collected origins and wrappers,
+     * as well as the entry of {@code excluded} origin.
+     */
+    private Entry<W> copyAlive(Entry<W> head, Object excluded) {
+        Entry<W> result = null;
+        for (Entry<W> e = head; e != null; e = e.next) {
+            Object origin = e.get();
+            if (origin != null && origin != excluded && e.wrapper.get() != null) {
+                result = new Entry<>(origin, e.hash, e.wrapper, collectedOrigins, result);
+            }
+        }
+        return result;
+    }
+
+    private static <W> W find(Entry<W>[] table, Object object, int hash) {
+        for (Entry<W> e = table[indexFor(hash, table.length)]; e != null; e = e.next) {
+            if (e.get() == object) {
+                return e.wrapper.get();
+            }
+        }
+        return null;
+    }
+
+    private static int indexFor(int hash, int length) {
+        return (hash ^ (hash >>> 16)) & (length - 1);
+    }
+
+    private static int length(Entry<?> head) {
+        int length = 0;
+        for (Entry<?> e = head; e != null; e = e.next) {
+            length++;
+        }
+        return length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <W> Entry<W>[] newTable(int capacity) {
+        return (Entry<W>[]) new Entry<?>[capacity];
+    }
+
+    private static final class Entry<W> extends WeakReference<Object> {
+        private final int hash;
+        private final SoftReference<W> wrapper;
+        private final Entry<W> next;
+
+        private Entry(Object origin,
+                      int hash,
+                      SoftReference<W> wrapper,
+                      ReferenceQueue<Object> queue,
+                      Entry<W> next) {
+            super(origin, queue);
+            this.hash = hash;
+            this.wrapper = wrapper;
+            this.next = next;
+        }
+    }
+}
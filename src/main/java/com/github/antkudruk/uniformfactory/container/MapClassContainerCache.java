@@ -0,0 +1,28 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps wrapper class factories in a map.
+ * Origin classes are held strongly as long as the cache is reachable.
+ *
+ * @param <W> Wrapper class
+ */
+@RequiredArgsConstructor
+public final class MapClassContainerCache<W> implements ClassContainerCache<W> {
+
+    private final Map<Class<?>, Function<?, W>> classContainers;
+
+    @Override
+    public Function<?, W> get(Class<?> originClass) {
+        return classContainers.get(originClass);
+    }
+
+    @Override
+    public void put(Class<?> originClass, Function<?, W> classContainer) {
+        classContainers.put(originClass, classContainer);
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds origin classes in a package to generate their wrappers at startup.
+ *
+ * Classes are described with a {@link TypePool}, so that scanning doesn't load
+ * any of them. Only the matching classes are loaded, without initialization.
+ * Interfaces and abstract classes are skipped because they can't be origin
+ * classes of an object.
+ *
+ * <pre>{@code
+ * new OriginClassScanner(classLoader, type -> type.getDeclaredAnnotations().isAnnotationPresent(Marker.class))
+ *         .prewarm(classFactory.buildWrapperFactory(), "com.example.domain")
+ *         .thenAccept(report -> log.info(report.toString()));
+ * }</pre>
+ */
+public final class OriginClassScanner {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final ClassLoader classLoader;
+    private final Predicate<TypeDescription> originPredicate;
+    private final TypePool typePool;
+
+    public OriginClassScanner(ClassLoader classLoader, Predicate<TypeDescription> originPredicate) {
+        this.classLoader = classLoader;
+        this.originPredicate = originPredicate;
+        this.typePool = TypePool.Default.of(ClassFileLocator.ForClassLoader.of(classLoader));
+    }
+
+    /**
+     * Finds origin classes in the package and its subpackages.
+     *
+     * @param packageName Package name
+     * @return Names of the classes matching the predicate
+     * @throws IOException Thrown if the class path can't be read
+     */
+    public List<String> scan(String packageName) throws IOException {
+        String packagePath = packageName.replace('.', '/');
+        List<String> result = new ArrayList<>();
+        Enumeration<URL> roots = classLoader.getResources(packagePath);
+        while (roots.hasMoreElements()) {
+            for (String className : findClassNames(roots.nextElement(), packagePath)) {
+                TypePool.Resolution resolution = typePool.describe(className);
+                if (resolution.isResolved() && isOrigin(resolution.resolve())) {
+                    result.add(className);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generates wrapper classes for all the origin classes found in the package.
+     *
+     * @param wrapperFactory Wrapper factory to prewarm
+     * @param packageName Package name
+     * @return Future completed as soon as all the wrapper classes are generated
+     * @throws IOException Thrown if the class path can't be read
+     * @throws ClassNotFoundException Thrown if a found class can't be loaded
+     */
+    public CompletableFuture<PrewarmReport> prewarm(WrapperFactory<?> wrapperFactory, String packageName)
+            throws IOException, ClassNotFoundException {
+        long start = System.nanoTime();
+        List<Class<?>> originClasses = new ArrayList<>();
+        for (String className : scan(packageName)) {
+            originClasses.add(Class.forName(className, false, classLoader));
+        }
+        return wrapperFactory.prewarm(originClasses)
+                .thenApply(v -> new PrewarmReport(
+                        originClasses.size(),
+                        Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private boolean isOrigin(TypeDescription type) {
+        return !type.isInterface() && !type.isAbstract() && originPredicate.test(type);
+    }
+
+    private static List<String> findClassNames(URL root, String packagePath) throws IOException {
+        if ("jar".equals(root.getProtocol())) {
+            return findClassNamesInJar(root, packagePath);
+        } else if ("file".equals(root.getProtocol())) {
+            return findClassNamesInDirectory(root, packagePath);
+        }
+        return new ArrayList<>();
+    }
+
+    private static List<String> findClassNamesInJar(URL root, String packagePath) throws IOException {
+        JarURLConnection connection = (JarURLConnection) root.openConnection();
+        connection.setUseCaches(false);
+        List<String> result = new ArrayList<>();
+        try (JarFile jarFile = connection.getJarFile()) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith(packagePath + "/") && isClassFile(name)) {
+                    result.add(toClassName(name));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> findClassNamesInDirectory(URL root, String packagePath) throws IOException {
+        Path directory = toPath(root);
+        String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map(file -> prefix + directory.relativize(file).toString()
+                            .replace(file.getFileSystem().getSeparator(), "/"))
+                    .filter(OriginClassScanner::isClassFile)
+                    .map(OriginClassScanner::toClassName)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Wrong class path entry " + url, e);
+        }
+    }
+
+    private static boolean isClassFile(String path) {
+        return path.endsWith(CLASS_FILE_EXTENSION)
+                && !path.endsWith("package-info.class")
+                && !path.endsWith("module-info.class");
+    }
+
+    private static String toClassName(String path) {
+        return path.substring(0, path.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.');
+    }
+}
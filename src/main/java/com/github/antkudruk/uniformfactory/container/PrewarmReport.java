@@ -0,0 +1,21 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Result of prewarming wrapper classes for scanned origin classes.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class PrewarmReport {
+    private final int originClassCount;
+    private final Duration duration;
+
+    @Override
+    public String toString() {
+        return "Prewarmed wrappers for " + originClassCount + " classes in " + duration.toMillis() + " ms";
+    }
+}
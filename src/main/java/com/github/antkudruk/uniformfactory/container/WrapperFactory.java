@@ -1,6 +1,17 @@
 package com.github.antkudruk.uniformfactory.container;
 
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.exception.UncheckedClassGeneratorException;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -8,4 +19,122 @@ import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
  */
 public interface WrapperFactory<W> {
     <E> W get(E object) throws ClassGeneratorException;
+
+    /**
+     * Resolves a function creating adapters for objects of the class {@code originClass}.
+     * Lets you look the wrapper class up once for a number of objects of the same class.
+     *
+     * By default, the function delegates each object to {@link #get(Object)}
+     * and throws its failure as {@link UncheckedClassGeneratorException}.
+     * Implementations override it to look the wrapper class up beforehand.
+     *
+     * @param originClass Exact class of the objects to wrap
+     * @param <E> Origin class
+     * @return Function creating adapters
+     * @throws ClassGeneratorException Thrown if the wrapper class can't be generated
+     */
+    default <E> Function<E, W> getClassContainer(Class<? extends E> originClass) throws ClassGeneratorException {
+        return object -> {
+            try {
+                return get(object);
+            } catch (ClassGeneratorException e) {
+                throw new UncheckedClassGeneratorException(e);
+            }
+        };
+    }
+
+    /**
+     * Creates adapters for all the objects.
+     * The wrapper class is looked up once for each run of objects of the same class.
+     *
+     * @param objects Objects to wrap
+     * @return Adapters in the order of {@code objects}
+     * @throws ClassGeneratorException Thrown if a wrapper class can't be generated
+     */
+    default List<W> wrapAll(Collection<?> objects) throws ClassGeneratorException {
+        List<W> result = new ArrayList<>(objects.size());
+        Class<?> runClass = null;
+        Function<Object, W> runClassContainer = null;
+        for (Object object : objects) {
+            if (object.getClass() != runClass) {
+                runClass = object.getClass();
+                runClassContainer = getClassContainer(runClass);
+            }
+            result.add(runClassContainer.apply(object));
+        }
+        return result;
+    }
+
+    /**
+     * Creates adapters for all the objects.
+     * The wrapper class is looked up once for each run of objects of the same class.
+     *
+     * @param objects Objects to wrap
+     * @param target Array to store adapters in. If it's too small, a new array
+     *               of the same component type is allocated
+     * @return Array containing adapters in the order of {@code objects}
+     * @throws ClassGeneratorException Thrown if a wrapper class can't be generated
+     */
+    @SuppressWarnings("unchecked")
+    default W[] wrapAll(Object[] objects, W[] target) throws ClassGeneratorException {
+        W[] result = target.length >= objects.length
+                ? target
+                : (W[]) Array.newInstance(target.getClass().getComponentType(), objects.length);
+        Class<?> runClass = null;
+        Function<Object, W> runClassContainer = null;
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i].getClass() != runClass) {
+                runClass = objects[i].getClass();
+                runClassContainer = getClassContainer(runClass);
+            }
+            result[i] = runClassContainer.apply(objects[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Wraps objects lazily. Keeps the characteristics of {@code objects}
+     * except for sorting and distinctness, so a sized source splits well.
+     * A failure of wrapper class generation is thrown as
+     * {@link com.github.antkudruk.uniformfactory.exception.UncheckedClassGeneratorException}
+     *
+     * @param objects Objects to wrap
+     * @return Spliterator of adapters
+     */
+    default Spliterator<W> wrapAll(Spliterator<?> objects) {
+        return new WrappingSpliterator<>(this, objects);
+    }
+
+    /**
+     * Wraps objects of the stream lazily.
+     *
+     * @see #wrapAll(Spliterator)
+     * @param objects Objects to wrap
+     * @return Stream of adapters
+     */
+    default Stream<W> wrapAll(Stream<?> objects) {
+        return StreamSupport.stream(wrapAll(objects.spliterator()), objects.isParallel())
+                .onClose(objects::close);
+    }
+
+    /**
+     * Generates wrapper classes for the origin classes in background,
+     * so that the first {@code get} for them doesn't wait for generation.
+     *
+     * @param originClasses Origin classes
+     * @return Future completed as soon as all the wrapper classes are generated.
+     * Completed exceptionally with {@link UncheckedClassGeneratorException}
+     * if a wrapper class can't be generated
+     */
+    default CompletableFuture<Void> prewarm(Collection<Class<?>> originClasses) {
+        return CompletableFuture.runAsync(() -> {
+            for (Class<?> originClass : originClasses) {
+                try {
+                    getClassContainer(originClass);
+                } catch (ClassGeneratorException e) {
+                    throw new UncheckedClassGeneratorException(e);
+                }
+            }
+        });
+    }
 }
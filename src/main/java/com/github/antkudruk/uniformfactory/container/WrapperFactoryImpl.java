@@ -2,24 +2,330 @@ package com.github.antkudruk.uniformfactory.container;
 
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
-import lombok.RequiredArgsConstructor;
+import com.github.antkudruk.uniformfactory.exception.UncheckedClassGeneratorException;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
-@RequiredArgsConstructor
+/**
+ * Caches wrapper class factories for each origin class.
+ *
+ * A wrapper class is generated once per origin class. Concurrent first
+ * requests for the same origin class wait for a single generation.
+ * The cache {@code classContainers} has to be thread safe as long as the
+ * factory is shared between threads.
+ *
+ * In front of the cache, the factory can keep an inline cache of the last
+ * seen origin classes. A hit of the inline cache takes a reference
+ * comparison and doesn't touch {@code classContainers}. It's disabled by
+ * default, see {@link Builder#setInlineCacheSize(int)}.
+ *
+ * In the tiered mode, wrappers of a new origin class are interpreted by
+ * reflection until the wrapper class is generated.
+ * See {@link Builder#setInterpretationThreshold(int)}.
+ *
+ * @param <W> Wrapper class
+ */
 public final class WrapperFactoryImpl<W> implements WrapperFactory<W> {
 
+    public static final int DEFAULT_INLINE_CACHE_SIZE = 0;
+    public static final int MAX_INLINE_CACHE_SIZE = 4;
+
+    // Once the inline cache is full, it's replaced on every 64th miss only.
+    // Otherwise, a call site with more classes than the cache slots would
+    // allocate and publish a new inline cache on every call.
+    private static final int INLINE_CACHE_UPDATE_RATE = 63;
+
     private final ClassFactory<W> classFactory;
-    private final Map<Class<?>, Function<?, W>> classContainers;
+    private final ClassContainerCache<W> classContainers;
+    private final int inlineCacheSize;
+    private final Executor executor;
+    private final int interpretationThreshold;
+    private final Executor promotionExecutor;
+    private final ConcurrentMap<Class<?>, CompletableFuture<Function<?, W>>> pendingClassContainers
+            = new ConcurrentHashMap<>();
+    private volatile InlineCache<W> inlineCache = InlineCache.empty();
+    // Approximate: updated without synchronization
+    private int inlineCacheMisses;
+
+    public WrapperFactoryImpl(ClassFactory<W> classFactory, Map<Class<?>, Function<?, W>> classContainers) {
+        this(classFactory, new MapClassContainerCache<>(classContainers));
+    }
+
+    public WrapperFactoryImpl(ClassFactory<W> classFactory, ClassContainerCache<W> classContainers) {
+        this(new Builder<>(classFactory).setClassContainerCache(classContainers));
+    }
 
+    private WrapperFactoryImpl(Builder<W> builder) {
+        this.classFactory = builder.classFactory;
+        this.classContainers = builder.classContainers;
+        this.inlineCacheSize = builder.inlineCacheSize;
+        this.executor = builder.executor;
+        this.interpretationThreshold = builder.interpretationThreshold;
+        this.promotionExecutor = builder.backgroundPromotion ? builder.executor : null;
+    }
 
     @Override
     public <E> W get(E object) throws ClassGeneratorException {
-        Class<?> type = object.getClass();
-        Function<E, W> classContainer = ((Function<E, W>) classContainers
-                .getOrDefault(type, classFactory.buildWrapperFactory(type)));
-        classContainers.put(type, classContainer);
+        Function<Object, W> classContainer = getClassContainer(object.getClass());
         return classContainer.apply(object);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Function<E, W> getClassContainer(Class<? extends E> type) throws ClassGeneratorException {
+        if (inlineCacheSize == 0) {
+            // Every lookup goes to the class container cache
+            return (Function<E, W>) resolveClassContainer(type, interpretationThreshold > 0);
+        }
+        InlineCache<W> cache = inlineCache;
+        Function<?, W> classContainer = cache.get(type);
+        if (classContainer == null) {
+            classContainer = resolveClassContainer(type, interpretationThreshold > 0);
+            if (cache.size < inlineCacheSize || (++inlineCacheMisses & INLINE_CACHE_UPDATE_RATE) == 0) {
+                inlineCache = cache.push(type, classContainer, inlineCacheSize);
+            }
+        }
+        return (Function<E, W>) classContainer;
+    }
+
+    /**
+     * Generates wrapper classes in parallel on the executor of this factory.
+     * A {@code get} for a class being generated waits for that generation.
+     * Prewarmed classes skip interpretation in the tiered mode.
+     */
+    @Override
+    public CompletableFuture<Void> prewarm(Collection<Class<?>> originClasses) {
+        return CompletableFuture.allOf(originClasses.stream()
+                .map(type -> CompletableFuture.runAsync(() -> prewarm(type), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void prewarm(Class<?> type) {
+        try {
+            resolveClassContainer(type, false);
+        } catch (ClassGeneratorException e) {
+            throw new UncheckedClassGeneratorException(e);
+        }
+    }
+
+    private Function<?, W> resolveClassContainer(Class<?> type, boolean tiered) throws ClassGeneratorException {
+        Function<?, W> classContainer = classContainers.get(type);
+        return classContainer != null ? classContainer : generateClassContainer(type, tiered);
+    }
+
+    private Function<?, W> generateClassContainer(Class<?> type, boolean tiered) throws ClassGeneratorException {
+        CompletableFuture<Function<?, W>> pending = new CompletableFuture<>();
+        CompletableFuture<Function<?, W>> existing = pendingClassContainers.putIfAbsent(type, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // The generation might have been finished before the future was registered
+            Function<?, W> classContainer = classContainers.get(type);
+            if (classContainer == null) {
+                classContainer = tiered
+                        ? classFactory.buildTieredWrapperFactory(type, interpretationThreshold, promotionExecutor)
+                        : classFactory.buildWrapperFactory(type);
+                classContainers.put(type, classContainer);
+            }
+            pending.complete(classContainer);
+            return classContainer;
+        } catch (ClassGeneratorException | RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingClassContainers.remove(type, pending);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws ClassGeneratorException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ClassGeneratorException) {
+                throw (ClassGeneratorException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Immutable set of up to {@code MAX_INLINE_CACHE_SIZE} recently used class containers.
+     * Slots at or above {@code size} never match.
+     */
+    private static final class InlineCache<W> {
+
+        private static final InlineCache<?> EMPTY = new InlineCache<>(
+                0, null, null, null, null, null, null, null, null);
+
+        private final int size;
+        private final Class<?> class0;
+        private final Function<?, W> classContainer0;
+        private final Class<?> class1;
+        private final Function<?, W> classContainer1;
+        private final Class<?> class2;
+        private final Function<?, W> classContainer2;
+        private final Class<?> class3;
+        private final Function<?, W> classContainer3;
+
+        private InlineCache(int size,
+                            Class<?> class0, Function<?, W> classContainer0,
+                            Class<?> class1, Function<?, W> classContainer1,
+                            Class<?> class2, Function<?, W> classContainer2,
+                            Class<?> class3, Function<?, W> classContainer3) {
+            this.size = size;
+            this.class0 = class0;
+            this.classContainer0 = classContainer0;
+            this.class1 = class1;
+            this.classContainer1 = classContainer1;
+            this.class2 = class2;
+            this.classContainer2 = classContainer2;
+            this.class3 = class3;
+            this.classContainer3 = classContainer3;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <W> InlineCache<W> empty() {
+            return (InlineCache<W>) EMPTY;
+        }
+
+        private Function<?, W> get(Class<?> type) {
+            if (size > 0 && type == class0) {
+                return classContainer0;
+            } else if (size > 1 && type == class1) {
+                return classContainer1;
+            } else if (size > 2 && type == class2) {
+                return classContainer2;
+            } else if (size > 3 && type == class3) {
+                return classContainer3;
+            }
+            return null;
+        }
+
+        /**
+         * Puts the class container to the first slot and shifts the others,
+         * keeping {@code size} slots.
+         */
+        private InlineCache<W> push(Class<?> type, Function<?, W> classContainer, int size) {
+            if (size == 0) {
+                return empty();
+            }
+            return new InlineCache<>(
+                    Math.min(this.size + 1, size),
+                    type, classContainer,
+                    size > 1 ? class0 : null, size > 1 ? classContainer0 : null,
+                    size > 2 ? class1 : null, size > 2 ? classContainer1 : null,
+                    size > 3 ? class2 : null, size > 3 ? classContainer2 : null);
+        }
+    }
+
+    public static class Builder<W> {
+
+        private final ClassFactory<W> classFactory;
+        private ClassContainerCache<W> classContainers = new MapClassContainerCache<>(new ConcurrentHashMap<>());
+        private int inlineCacheSize = DEFAULT_INLINE_CACHE_SIZE;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int interpretationThreshold;
+        private boolean backgroundPromotion = true;
+
+        public Builder(ClassFactory<W> classFactory) {
+            this.classFactory = classFactory;
+        }
+
+        public Builder<W> setClassContainerCache(ClassContainerCache<W> classContainers) {
+            this.classContainers = classContainers;
+            return this;
+        }
+
+        /**
+         * Sets the number of the last seen origin classes to check before
+         * the class container cache. Use {@code 1} for call sites wrapping
+         * objects of the same class in a row, {@code 2} or {@code 4} for
+         * call sites alternating between several classes, {@code 0} to disable.
+         * The inline cache is disabled by default.
+         *
+         * The inline cache holds its origin classes and their class containers
+         * strongly, and its hits bypass the class container cache. Keep it
+         * disabled if you use {@link ClassValueClassContainerCache} to let origin
+         * classes unload, or a {@link BoundedClassContainerCache} to track its
+         * recency and hits.
+         *
+         * @param inlineCacheSize Number of origin classes from 0 to {@code MAX_INLINE_CACHE_SIZE}
+         * @return This builder
+         */
+        public Builder<W> setInlineCacheSize(int inlineCacheSize) {
+            if (inlineCacheSize < 0 || inlineCacheSize > MAX_INLINE_CACHE_SIZE) {
+                throw new IllegalArgumentException("Inline cache size should be from 0 to "
+                        + MAX_INLINE_CACHE_SIZE + ": " + inlineCacheSize);
+            }
+            this.inlineCacheSize = inlineCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the executor to generate wrapper classes on prewarming and
+         * on background promotion in the tiered mode.
+         * {@link ForkJoinPool#commonPool()} is used by default.
+         *
+         * @param executor Executor
+         * @return This builder
+         */
+        public Builder<W> setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Enables the tiered mode. Wrappers of a new origin class are proxies
+         * interpreting wrapper methods by reflection. After {@code interpretationThreshold}
+         * invocations of wrapper methods of the origin class, the wrapper class
+         * is generated. It saves the generation for rarely used origin classes.
+         *
+         * Origin classes having wrapper methods that can't be interpreted,
+         * like method lists and maps, are generated right away.
+         *
+         * @param interpretationThreshold Number of interpreted invocations per
+         *                                origin class, {@code 0} to disable the tiered mode
+         * @return This builder
+         */
+        public Builder<W> setInterpretationThreshold(int interpretationThreshold) {
+            if (interpretationThreshold < 0) {
+                throw new IllegalArgumentException("Interpretation threshold should not be negative: "
+                        + interpretationThreshold);
+            }
+            this.interpretationThreshold = interpretationThreshold;
+            return this;
+        }
+
+        /**
+         * Sets whether the wrapper class is generated on the executor of this
+         * factory in the tiered mode. Otherwise, it's generated in the thread
+         * invoking the wrapper method that reached the threshold.
+         * The background promotion is used by default.
+         *
+         * @param backgroundPromotion {@code true} to generate on the executor
+         * @return This builder
+         */
+        public Builder<W> setBackgroundPromotion(boolean backgroundPromotion) {
+            this.backgroundPromotion = backgroundPromotion;
+            return this;
+        }
+
+        public WrapperFactoryImpl<W> build() {
+            return new WrapperFactoryImpl<>(this);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.exception.UncheckedClassGeneratorException;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Wraps elements of a spliterator.
+ * Keeps the class container of the last wrapped element.
+ *
+ * @param <W> Wrapper class
+ */
+final class WrappingSpliterator<W> implements Spliterator<W>, Consumer<Object> {
+
+    private final WrapperFactory<W> wrapperFactory;
+    private final Spliterator<?> objects;
+    private Consumer<? super W> action;
+    private Class<?> runClass;
+    private Function<Object, W> runClassContainer;
+
+    WrappingSpliterator(WrapperFactory<W> wrapperFactory, Spliterator<?> objects) {
+        this.wrapperFactory = wrapperFactory;
+        this.objects = objects;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super W> action) {
+        this.action = action;
+        return objects.tryAdvance(this);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super W> action) {
+        this.action = action;
+        objects.forEachRemaining(this);
+    }
+
+    @Override
+    public void accept(Object object) {
+        if (object.getClass() != runClass) {
+            try {
+                runClassContainer = wrapperFactory.getClassContainer(object.getClass());
+            } catch (ClassGeneratorException e) {
+                throw new UncheckedClassGeneratorException(e);
+            }
+            runClass = object.getClass();
+        }
+        action.accept(runClassContainer.apply(object));
+    }
+
+    @Override
+    public Spliterator<W> trySplit() {
+        Spliterator<?> prefix = objects.trySplit();
+        return prefix != null ? new WrappingSpliterator<>(wrapperFactory, prefix) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return objects.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return objects.characteristics() & ~(Spliterator.SORTED | Spliterator.DISTINCT);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
+import com.github.antkudruk.uniformfactory.base.PackageAccess;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.exception.UncheckedClassGeneratorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds element classes of origin members one after another in the current
+ * thread, or in parallel on an executor.
+ *
+ * In parallel, each element is generated in a scope of its own nested in
+ * the scope of the wrapper, qualified by the origin member and the order of
+ * the build. Class names stay stable, but differ from the names of the
+ * classes generated one after another.
+ *
+ * Element sources nested in a build running on the executor are built in
+ * the worker thread. Waiting for them on the same executor could exhaust
+ * a bounded one.
+ */
+public final class ElementBuilds {
+
+    // Whether the current thread runs a build submitted to an executor
+    private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<>();
+
+    private ElementBuilds() {
+    }
+
+    /**
+     * @param executor Executor to build on, {@code null} to build in the current thread.
+     *                 Ignored if the current thread is building an element on an executor.
+     * @param builds Builds by origin members, in the declaration order
+     * @param <T> Build result
+     * @return Results of the builds in the declaration order
+     * @throws ClassGeneratorException Thrown by the first failed build
+     */
+    public static <T> List<T> buildAll(Executor executor, Map<?, ElementBuild<T>> builds)
+            throws ClassGeneratorException {
+        List<T> results = new ArrayList<>(builds.size());
+        if (executor == null || Boolean.TRUE.equals(WORKER.get())) {
+            for (ElementBuild<T> build : builds.values()) {
+                results.add(build.build());
+            }
+            return results;
+        }
+
+        boolean packageAccess = PackageAccess.isGranted();
+        List<CompletableFuture<T>> futures = new ArrayList<>(builds.size());
+        for (Map.Entry<?, ElementBuild<T>> entry : builds.entrySet()) {
+            // Created in the current thread to keep the order of the scopes stable
+            GeneratedNames.Scope scope = GeneratedNames.nestedScope(entry.getKey());
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> build(scope, entry.getValue(), packageAccess),
+                    executor));
+        }
+        for (CompletableFuture<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private static <T> T build(GeneratedNames.Scope scope, ElementBuild<T> build, boolean packageAccess) {
+        WORKER.set(true);
+        try (GeneratedNames.Scope ignored = GeneratedNames.openScope(scope);
+             PackageAccess.Scope ignoredAccess = PackageAccess.grant(packageAccess)) {
+            return build.build();
+        } catch (ClassGeneratorException ex) {
+            throw new UncheckedClassGeneratorException(ex);
+        } finally {
+            WORKER.remove();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws ClassGeneratorException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedClassGeneratorException) {
+                throw ((UncheckedClassGeneratorException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ElementBuild<T> {
+        T build() throws ClassGeneratorException;
+    }
+}
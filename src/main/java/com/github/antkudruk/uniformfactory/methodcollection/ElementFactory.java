@@ -6,6 +6,11 @@ import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Describes how to implement elements for collections (List or Map)
@@ -19,4 +24,51 @@ public interface ElementFactory<F> {
     ClassFactory<? extends F> getMethodElement(
             TypeDescription origin,
             MethodDescription methodDescription) throws ClassGeneratorException ;
+
+    /**
+     * Generates a single element class for all the members. The class has
+     * a constructor taking the origin and the index of the member.
+     *
+     * @param origin Origin type
+     * @param methods Origin methods, taking indexes from {@code 0}
+     * @param fields Origin fields, taking indexes after the methods
+     * @return Element class, or nothing if the factory generates a class for each member only
+     * @throws ClassGeneratorException Thrown if a member can't be wrapped
+     */
+    default Optional<DynamicType.Unloaded<? extends F>> getDispatcher(
+            TypeDescription origin,
+            List<MethodDescription> methods,
+            List<FieldDescription> fields) throws ClassGeneratorException {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a constructor of elements of a class shared between the origin
+     * classes, so that no element class is generated for the field.
+     *
+     * @param origin Origin type
+     * @param fieldDescription Origin field
+     * @return Element constructor taking the origin, or nothing if the field needs an element class
+     * @throws ClassGeneratorException Thrown if the field can't be wrapped
+     */
+    default Optional<Function<Object, ? extends F>> getSharedFieldElement(
+            TypeDescription origin,
+            FieldDescription fieldDescription) throws ClassGeneratorException {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a constructor of elements of a class shared between the origin
+     * classes, so that no element class is generated for the method.
+     *
+     * @param origin Origin type
+     * @param methodDescription Origin method
+     * @return Element constructor taking the origin, or nothing if the method needs an element class
+     * @throws ClassGeneratorException Thrown if the method can't be wrapped
+     */
+    default Optional<Function<Object, ? extends F>> getSharedMethodElement(
+            TypeDescription origin,
+            MethodDescription methodDescription) throws ClassGeneratorException {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,181 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
+import com.github.antkudruk.uniformfactory.base.bytecode.FieldAccessImplementation;
+import com.github.antkudruk.uniformfactory.base.bytecode.TableSwitchImplementation;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.ParameterBindersSource;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.AbstractAtomGenerator;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.ResultMapperCollection;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Constants.ORIGIN_FIELD_NAME;
+
+/**
+ * Generates a single getter element class for several origin members.
+ *
+ * <pre>
+ * {@code
+ *      class Dispatcher implements Element {
+ *          private final Origin origin;
+ *          private final int index;
+ *
+ *          public Dispatcher(Origin origin, int index) { ... }
+ *
+ *          public Result get(A a, B b) {
+ *              switch (index) {
+ *                  case 0: return member0(a, b);
+ *                  case 1: return member1(a, b);
+ *                  // ... ... ...
+ *              }
+ *          }
+ *
+ *          private Result member0(A a, B b) {
+ *              return RESULT_TRANSLATOR.apply(origin.method0(PARAMETER_TRANSLATOR.apply(a)));
+ *          }
+ *
+ *          // ... ... ...
+ *      }
+ * }
+ * </pre>
+ *
+ * Member methods do the same as the atoms of the element classes generated
+ * for each member separately.
+ */
+final class GetterDispatcherGenerator extends AbstractAtomGenerator {
+
+    static final String INDEX_FIELD_NAME = "index";
+
+    private static final String MEMBER_PREFIX = "member";
+
+    private GetterDispatcherGenerator() {
+    }
+
+    /**
+     * @param elementType Element interface
+     * @param originType Origin type
+     * @param methods Origin methods, taking indexes from {@code 0}
+     * @param fields Origin fields, taking indexes after the methods
+     * @return Element class having a constructor taking the origin and the member index
+     */
+    static <F, R> DynamicType.Unloaded<? extends F> generateClass(
+            Class<F> elementType,
+            TypeDescription originType,
+            List<MethodDescription> methods,
+            List<FieldDescription> fields,
+            ResultMapperCollection<R> resultMapper,
+            ParameterBindersSource parameterMapper) throws ClassGeneratorException {
+
+        Method elementMethod = elementType.getDeclaredMethods()[0];
+        List<Object> members = new ArrayList<>(methods);
+        members.addAll(fields);
+
+        DynamicType.Builder<F> bbBuilder = new ByteBuddy()
+                .subclass(elementType, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(GeneratedNames.className(originType, "Dispatcher", elementType.getName(), members))
+                .defineField(ORIGIN_FIELD_NAME, originType,
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC)
+                .defineField(INDEX_FIELD_NAME, int.class,
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC)
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(originType, TypeDescriptions.of(int.class))
+                .intercept(createObjectConstructorCall()
+                        .andThen(FieldAccessor.ofField(ORIGIN_FIELD_NAME).setsArgumentAt(0))
+                        .andThen(FieldAccessor.ofField(INDEX_FIELD_NAME).setsArgumentAt(1)));
+
+        for (int i = 0; i < methods.size(); i++) {
+            MethodDescription originMethod = methods.get(i);
+            String prefix = MEMBER_PREFIX + i + "$";
+            List<PartialDescriptor> partialDescriptors = parameterMapper.getParameterBinders(originMethod)
+                    .stream()
+                    .map(t -> t.withFieldNamePrefix(prefix))
+                    .collect(Collectors.toList());
+
+            Function<?, R> resultTranslator = resultMapper.getTranslatorOrThrow(originMethod.getReturnType().asErasure());
+            boolean passesResultThrough = passesResultThrough(
+                    resultTranslator, originMethod.getReturnType().asErasure(), elementMethod.getReturnType());
+            if (!passesResultThrough) {
+                bbBuilder = createResultTranslatorField(bbBuilder, prefix + RESULT_TRANSLATOR, resultTranslator);
+            }
+            for (PartialDescriptor it : partialDescriptors) {
+                bbBuilder = it.initiate(bbBuilder);
+            }
+            MethodCall methodCall = createMethodCall(originMethod, partialDescriptors);
+            bbBuilder = defineMemberMethod(bbBuilder, elementMethod, i)
+                    .intercept(passesResultThrough
+                            ? methodCall
+                            : addResultTranslator(methodCall, prefix + RESULT_TRANSLATOR));
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            FieldDescription originField = fields.get(i);
+            int index = methods.size() + i;
+            bbBuilder = defineMemberMethod(bbBuilder, elementMethod, index)
+                    .intercept(new FieldAccessImplementation(
+                            ORIGIN_FIELD_NAME,
+                            originField,
+                            resultMapper.getTranslatorOrThrow(originField.getType().asErasure()),
+                            MEMBER_PREFIX + index + "$" + RESULT_TRANSLATOR));
+        }
+
+        List<String> memberNames = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            memberNames.add(MEMBER_PREFIX + i);
+        }
+
+        return bbBuilder
+                .define(elementMethod)
+                .intercept(new TableSwitchImplementation(INDEX_FIELD_NAME, memberNames))
+                .make();
+    }
+
+    private static <F> DynamicType.Builder.MethodDefinition.ImplementationDefinition<F> defineMemberMethod(
+            DynamicType.Builder<F> bbBuilder, Method elementMethod, int index) {
+        return bbBuilder
+                .defineMethod(MEMBER_PREFIX + index, elementMethod.getReturnType(),
+                        Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
+                .withParameters(elementMethod.getParameterTypes());
+    }
+
+    private static MethodCall createObjectConstructorCall() {
+        try {
+            return MethodCall.invoke(Object.class.getConstructor());
+        } catch (NoSuchMethodException ex) {
+            // Object class is guaranteed to have default constructor
+            throw new RuntimeException(ex);
+        }
+    }
+}
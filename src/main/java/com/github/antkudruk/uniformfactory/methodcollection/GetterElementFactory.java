@@ -19,17 +19,21 @@ package com.github.antkudruk.uniformfactory.methodcollection;
 import com.github.antkudruk.uniformfactory.base.Builds;
 import com.github.antkudruk.uniformfactory.base.ParameterMapperBuilder;
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.SpecifiedFieldSelector;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.SpecifiedMethodSelector;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.ParameterBindersSource;
 import com.github.antkudruk.uniformfactory.singleton.argument.valuesource.HasParameterTranslator;
 import com.github.antkudruk.uniformfactory.singleton.descriptors.ResultMapperCollection;
-import lombok.RequiredArgsConstructor;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
 import lombok.experimental.Delegate;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -40,12 +44,30 @@ import java.util.function.Function;
  * @param <F> Functional interface
  * @param <R> Method result type
  */
-@RequiredArgsConstructor
 public class GetterElementFactory<F, R> implements ElementFactory<F> {
 
     private final Class<F> elementType;
     private final ResultMapperCollection<R> resultMapper;
     private final ParameterBindersSource parameterMapper;
+    private final boolean shared;
+
+    public GetterElementFactory(
+            Class<F> elementType,
+            ResultMapperCollection<R> resultMapper,
+            ParameterBindersSource parameterMapper) {
+        this(elementType, resultMapper, parameterMapper, false);
+    }
+
+    public GetterElementFactory(
+            Class<F> elementType,
+            ResultMapperCollection<R> resultMapper,
+            ParameterBindersSource parameterMapper,
+            boolean shared) {
+        this.elementType = elementType;
+        this.resultMapper = resultMapper;
+        this.parameterMapper = parameterMapper;
+        this.shared = shared;
+    }
 
     @Override
     public ClassFactory<F> getFieldElement(
@@ -77,6 +99,55 @@ public class GetterElementFactory<F, R> implements ElementFactory<F> {
                 .build();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Dispatches to the members on an interface element type only.
+     */
+    @Override
+    public Optional<DynamicType.Unloaded<? extends F>> getDispatcher(
+            TypeDescription origin,
+            List<MethodDescription> methods,
+            List<FieldDescription> fields) throws ClassGeneratorException {
+        if (!elementType.isInterface()) {
+            return Optional.empty();
+        }
+        return Optional.of(GetterDispatcherGenerator.generateClass(
+                elementType,
+                origin,
+                methods,
+                fields,
+                resultMapper,
+                parameterMapper));
+    }
+
+    @Override
+    public Optional<Function<Object, ? extends F>> getSharedFieldElement(
+            TypeDescription origin,
+            FieldDescription fieldDescription) throws ClassGeneratorException {
+        if (!shared || fieldDescription.isStatic() || !SharedElementClasses.isSupported(elementType)) {
+            return Optional.empty();
+        }
+        Function<?, R> resultTranslator = resultMapper.getTranslatorOrThrow(fieldDescription.getType().asErasure());
+        return Optional.of(new SharedElementConstructor<>(
+                elementType,
+                originClass -> MemberAccess.forFieldGetter(originClass, fieldDescription, resultTranslator)));
+    }
+
+    @Override
+    public Optional<Function<Object, ? extends F>> getSharedMethodElement(
+            TypeDescription origin,
+            MethodDescription originMethod) throws ClassGeneratorException {
+        if (!shared || originMethod.isStatic() || !SharedElementClasses.isSupported(elementType)) {
+            return Optional.empty();
+        }
+        List<PartialDescriptor> partialDescriptors = parameterMapper.getParameterBinders(originMethod);
+        Function<?, R> resultTranslator = resultMapper.getTranslatorOrThrow(originMethod.getReturnType().asErasure());
+        return Optional.of(new SharedElementConstructor<>(
+                elementType,
+                originClass -> MemberAccess.forMethod(originClass, originMethod, partialDescriptors, resultTranslator)));
+    }
+
     /**
      *
      * @param <F> Functional interface
@@ -88,6 +159,7 @@ public class GetterElementFactory<F, R> implements ElementFactory<F> {
 
         private final Class<F> elementType;
         private ResultMapperCollection<R> resultMapper;
+        private boolean shared;
         @SuppressWarnings("unchecked")
         @Delegate
         private final ParameterMapperBuilder<T> parameterMapperBuilder = new ParameterMapperBuilder<>((T) this);
@@ -108,12 +180,30 @@ public class GetterElementFactory<F, R> implements ElementFactory<F> {
             return (T) this;
         }
 
+        /**
+         * Sets whether elements share a single class for all the origin
+         * classes. The shared class accesses origin members through method
+         * handles. Otherwise, a class is generated for each origin member.
+         *
+         * Applied to public element interfaces and non-static members only.
+         * Wrappers with shared elements aren't stored in a class cache.
+         *
+         * @param shared {@code true} to share the element class
+         * @return This builder
+         */
+        @SuppressWarnings("unchecked")
+        public T setShared(boolean shared) {
+            this.shared = shared;
+            return (T) this;
+        }
+
         @Override
         public ElementFactory<F> build() {
             return new GetterElementFactory<>(
                     elementType,
                     resultMapper,
-                    parameterMapperBuilder.getParameterMapper()
+                    parameterMapperBuilder.getParameterMapper(),
+                    shared
             );
         }
     }
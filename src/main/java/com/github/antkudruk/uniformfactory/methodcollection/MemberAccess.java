@@ -0,0 +1,152 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Accesses a member of an origin class through a method handle.
+ *
+ * The handle takes the origin and the origin method arguments as
+ * {@code Object}s, so that elements of any origin class invoke it the same way.
+ * That lets a single element class serve the members of all the origin classes.
+ * The price is boxing of the values and a handle the JIT compiler can't treat
+ * as a constant. Members without parameters are invoked with no arrays allocated.
+ */
+public final class MemberAccess {
+
+    private static final MethodType ACCESS_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final MethodHandle handle;
+    private final List<PartialDescriptor> partialDescriptors;
+    private final Function resultTranslator;
+
+    private MemberAccess(MethodHandle handle, List<PartialDescriptor> partialDescriptors, Function resultTranslator) {
+        this.handle = handle;
+        this.partialDescriptors = partialDescriptors;
+        this.resultTranslator = resultTranslator;
+    }
+
+    /**
+     * @param origin Origin object
+     * @param arguments Arguments of the element method
+     * @return Translated result of the member, {@code null} for setters
+     * @throws Throwable Thrown by the origin method
+     */
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object origin, Object[] arguments) throws Throwable {
+        Object[] originArguments = NO_ARGUMENTS;
+        if (!partialDescriptors.isEmpty()) {
+            originArguments = new Object[partialDescriptors.size()];
+            for (PartialDescriptor partialDescriptor : partialDescriptors) {
+                originArguments[partialDescriptor.getOriginIndex()] = partialDescriptor.getValue(arguments);
+            }
+        }
+        return resultTranslator.apply((Object) handle.invokeExact(origin, originArguments));
+    }
+
+    /**
+     * Invokes the member for an element method without parameters.
+     *
+     * @param origin Origin object
+     * @return Translated result of the member
+     * @throws Throwable Thrown by the origin method
+     */
+    public Object invoke(Object origin) throws Throwable {
+        return invoke(origin, NO_ARGUMENTS);
+    }
+
+    static MemberAccess forMethod(
+            Class<?> originClass,
+            MethodDescription originMethod,
+            List<PartialDescriptor> partialDescriptors,
+            Function resultTranslator) throws ReflectiveOperationException {
+
+        Method method = findMethod(findDeclaringClass(originClass, originMethod.getDeclaringType().asErasure()), originMethod);
+        method.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup()
+                .unreflect(method)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(ACCESS_TYPE);
+        return new MemberAccess(handle, partialDescriptors, resultTranslator);
+    }
+
+    static MemberAccess forFieldGetter(
+            Class<?> originClass,
+            FieldDescription originField,
+            Function resultTranslator) throws ReflectiveOperationException {
+
+        MethodHandle handle = MethodHandles.dropArguments(
+                MethodHandles.lookup().unreflectGetter(findField(originClass, originField)),
+                1,
+                Object[].class);
+        return new MemberAccess(handle.asType(ACCESS_TYPE), Collections.emptyList(), resultTranslator);
+    }
+
+    static MemberAccess forFieldSetter(
+            Class<?> originClass,
+            FieldDescription originField,
+            List<PartialDescriptor> partialDescriptors) throws ReflectiveOperationException {
+
+        MethodHandle handle = MethodHandles.lookup()
+                .unreflectSetter(findField(originClass, originField))
+                .asSpreader(Object[].class, 1)
+                .asType(ACCESS_TYPE);
+        return new MemberAccess(handle, partialDescriptors, Function.identity());
+    }
+
+    private static Field findField(Class<?> originClass, FieldDescription originField)
+            throws ReflectiveOperationException {
+        Field field = findDeclaringClass(originClass, originField.getDeclaringType().asErasure())
+                .getDeclaredField(originField.getName());
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static Method findMethod(Class<?> declaringClass, MethodDescription originMethod)
+            throws NoSuchMethodException {
+        for (Method method : declaringClass.getDeclaredMethods()) {
+            if (originMethod.represents(method)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(originMethod.toString());
+    }
+
+    private static Class<?> findDeclaringClass(Class<?> originClass, TypeDescription declaringType)
+            throws ClassNotFoundException {
+        for (Class<?> type = originClass; type != null; type = type.getSuperclass()) {
+            if (declaringType.represents(type)) {
+                return type;
+            }
+        }
+        throw new ClassNotFoundException(declaringType.getName());
+    }
+}
@@ -19,13 +19,22 @@ package com.github.antkudruk.uniformfactory.methodcollection;
 import com.github.antkudruk.uniformfactory.base.Builds;
 import com.github.antkudruk.uniformfactory.base.ParameterMapperBuilder;
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.SpecifiedFieldSelector;
+import com.github.antkudruk.uniformfactory.setter.atomicaccassor.SetterAtomGenerator;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.ParameterBindersSource;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
 import com.github.antkudruk.uniformfactory.singleton.argument.valuesource.HasParameterTranslator;
 import lombok.experimental.Delegate;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Element factory for setter field
@@ -34,13 +43,22 @@ import net.bytebuddy.description.type.TypeDescription;
 public class SetterElementFactory<F> implements ElementFactory<F>, HasParameterTranslator {
 
     private final Class<F> elementType;
+    private final boolean shared;
 
     @Delegate
     private final ParameterMapperBuilder<SetterElementFactory<F>> parameterMapperBuilder
             = new ParameterMapperBuilder<>(this);
 
     public SetterElementFactory(Class<F> elementType, ParameterBindersSource parameterBindersSource) {
+        this(elementType, parameterBindersSource, false);
+    }
+
+    public SetterElementFactory(
+            Class<F> elementType,
+            ParameterBindersSource parameterBindersSource,
+            boolean shared) {
         this.elementType = elementType;
+        this.shared = shared;
         parameterMapperBuilder.setParameterMapper(parameterBindersSource);
     }
 
@@ -63,11 +81,35 @@ public class SetterElementFactory<F> implements ElementFactory<F>, HasParameterT
             throw new RuntimeException("Not Implemented");  // TODO: Replace with a useful implementation
     }
 
+    @Override
+    public Optional<Function<Object, ? extends F>> getSharedFieldElement(
+            TypeDescription origin,
+            FieldDescription fieldDescription) throws ClassGeneratorException {
+        if (!shared || fieldDescription.isStatic() || !SharedElementClasses.isSupported(elementType)) {
+            return Optional.empty();
+        }
+
+        // Parameters are bound the same way as for the pure setter of the setter atom
+        MethodDescription pureSetter = new MethodDescription.Latent(origin, new MethodDescription.Token(
+                SetterAtomGenerator.SET_METHOD_NAME,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC,
+                TypeDescription.Generic.VOID,
+                Collections.singletonList(fieldDescription.getType())));
+        List<PartialDescriptor> partialDescriptors = parameterMapperBuilder
+                .getParameterMapper()
+                .getParameterBinders(pureSetter);
+
+        return Optional.of(new SharedElementConstructor<>(
+                elementType,
+                originClass -> MemberAccess.forFieldSetter(originClass, fieldDescription, partialDescriptors)));
+    }
+
     @SuppressWarnings("unchecked")
     public static abstract class AbstractBuilder<F, T extends AbstractBuilder<F, T>>
             implements Builds<ElementFactory<F>>, HasParameterTranslator {
 
         private final Class<F> elementType;
+        private boolean shared;
         @SuppressWarnings("unchecked")
         @Delegate
         private final ParameterMapperBuilder<T> parameterMapperBuilder = new ParameterMapperBuilder<>((T) this);
@@ -76,9 +118,21 @@ public class SetterElementFactory<F> implements ElementFactory<F>, HasParameterT
             this.elementType = elementType;
         }
 
+        /**
+         * Sets whether elements share a single class for all the origin
+         * classes. See {@link GetterElementFactory.AbstractBuilder#setShared(boolean)}.
+         *
+         * @param shared {@code true} to share the element class
+         * @return This builder
+         */
+        public T setShared(boolean shared) {
+            this.shared = shared;
+            return (T) this;
+        }
+
         @Override
         public ElementFactory<F> build() {
-            return new SetterElementFactory<>(elementType, parameterMapperBuilder.getParameterMapper());
+            return new SetterElementFactory<>(elementType, parameterMapperBuilder.getParameterMapper(), shared);
         }
     }
 
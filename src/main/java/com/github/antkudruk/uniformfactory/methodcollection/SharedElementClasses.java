@@ -0,0 +1,138 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.MultipleParentClassLoader;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Constants.ORIGIN_FIELD_NAME;
+
+/**
+ * Registry of element classes shared between origin classes.
+ *
+ * <pre>
+ * {@code
+ *      class SharedElement implements Element {
+ *          private final Object origin;
+ *          private final MemberAccess access;
+ *
+ *          public SharedElement(Object origin, MemberAccess access) { ... }
+ *
+ *          public Result get(A a, B b) {
+ *              return (Result) access.invoke(origin, new Object[] {a, b});
+ *          }
+ *      }
+ * }
+ * </pre>
+ *
+ * Methods without parameters call {@code access.invoke(origin)} to skip the array.
+ *
+ * Nothing in the class depends on an origin class, a member or translators:
+ * they're held by {@link MemberAccess}. So there's one class for each element
+ * interface. It's defined in a class loader of its own, visible from the
+ * interface and this library.
+ */
+final class SharedElementClasses {
+
+    private static final String ACCESS_FIELD_NAME = "access";
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(
+            Object.class, Object.class, MemberAccess.class);
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> elementType) {
+            return generateClass(elementType);
+        }
+    };
+
+    private SharedElementClasses() {
+    }
+
+    /**
+     * @return Whether elements of the type can be shared between origin classes
+     */
+    static boolean isSupported(Class<?> elementType) {
+        return elementType.isInterface()
+                && Modifier.isPublic(elementType.getModifiers())
+                && elementType.getDeclaredMethods().length == 1;
+    }
+
+    /**
+     * @param elementType Element interface
+     * @return Constructor of the shared element class taking the origin and
+     *         the member access, typed {@code (Object, MemberAccess)Object}
+     */
+    static MethodHandle getConstructor(Class<?> elementType) {
+        return CONSTRUCTORS.get(elementType);
+    }
+
+    private static MethodHandle generateClass(Class<?> elementType) {
+        try {
+            Method elementMethod = elementType.getDeclaredMethods()[0];
+            MethodCall invocation = elementMethod.getParameterCount() == 0
+                    ? MethodCall.invoke(MemberAccess.class.getMethod("invoke", Object.class))
+                            .onField(ACCESS_FIELD_NAME)
+                            .withField(ORIGIN_FIELD_NAME)
+                    : MethodCall.invoke(MemberAccess.class.getMethod("invoke", Object.class, Object[].class))
+                            .onField(ACCESS_FIELD_NAME)
+                            .withField(ORIGIN_FIELD_NAME)
+                            .withArgumentArray();
+            Class<?> type = new ByteBuddy()
+                    .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                    .implement(elementType)
+                    .name(GeneratedNames.className(TypeDescriptions.of(elementType), "SharedElement"))
+                    .defineField(ORIGIN_FIELD_NAME, Object.class,
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC)
+                    .defineField(ACCESS_FIELD_NAME, MemberAccess.class,
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC)
+                    .defineConstructor(Visibility.PUBLIC)
+                    .withParameters(Object.class, MemberAccess.class)
+                    .intercept(MethodCall.invoke(Object.class.getConstructor())
+                            .andThen(FieldAccessor.ofField(ORIGIN_FIELD_NAME).setsArgumentAt(0))
+                            .andThen(FieldAccessor.ofField(ACCESS_FIELD_NAME).setsArgumentAt(1)))
+                    .define(elementMethod)
+                    .intercept(invocation.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+                    .make()
+                    .load(new MultipleParentClassLoader.Builder()
+                                    .append(elementType, MemberAccess.class)
+                                    .build(),
+                            ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded();
+
+            return MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class, Object.class, MemberAccess.class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import java.lang.invoke.MethodHandle;
+import java.util.function.Function;
+
+/**
+ * Creates elements of the shared element class for an origin member.
+ *
+ * The member access is resolved on the first element creation, when the
+ * origin class is loaded for sure.
+ *
+ * @param <F> Element interface
+ */
+final class SharedElementConstructor<F> implements Function<Object, F> {
+
+    private final Class<F> elementType;
+    private final MemberAccessResolver accessResolver;
+    // Resolving twice in a race is harmless
+    private volatile MemberAccess access;
+
+    SharedElementConstructor(Class<F> elementType, MemberAccessResolver accessResolver) {
+        this.elementType = elementType;
+        this.accessResolver = accessResolver;
+    }
+
+    @Override
+    public F apply(Object origin) {
+        try {
+            MemberAccess memberAccess = access;
+            if (memberAccess == null) {
+                memberAccess = accessResolver.resolve(origin.getClass());
+                access = memberAccess;
+            }
+            MethodHandle constructor = SharedElementClasses.getConstructor(elementType);
+            return elementType.cast((Object) constructor.invokeExact(origin, memberAccess));
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Can't access the origin member of " + origin.getClass(), ex);
+        }
+    }
+
+    @FunctionalInterface
+    interface MemberAccessResolver {
+        MemberAccess resolve(Class<?> originClass) throws ReflectiveOperationException;
+    }
+}
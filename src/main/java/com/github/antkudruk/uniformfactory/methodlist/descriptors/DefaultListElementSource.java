@@ -18,6 +18,7 @@ package com.github.antkudruk.uniformfactory.methodlist.descriptors;
 
 import com.github.antkudruk.uniformfactory.base.Builds;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.methodcollection.ElementBuilds;
 import com.github.antkudruk.uniformfactory.methodcollection.ElementFactory;
 import com.github.antkudruk.uniformfactory.methodcollection.ElementFactoryBuilderParentReference;
 import com.github.antkudruk.uniformfactory.methodcollection.GetterElementFactory;
@@ -31,8 +32,10 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 @AllArgsConstructor
@@ -40,23 +43,24 @@ public class DefaultListElementSource<F> implements ListElementSource<F> {
 
     private final MemberSelector memberSelector;
     private final ElementFactory<F> elementFactory;
+    private final Executor executor;
+
+    public DefaultListElementSource(MemberSelector memberSelector, ElementFactory<F> elementFactory) {
+        this(memberSelector, elementFactory, null);
+    }
 
     @Override
     public List<DynamicType.Unloaded<? extends F>> elements(TypeDescription originType) throws ClassGeneratorException {
-        List<DynamicType.Unloaded<? extends F>> functionalMapperClasses = new ArrayList<>();
+        Map<Object, ElementBuilds.ElementBuild<DynamicType.Unloaded<? extends F>>> builds = new LinkedHashMap<>();
         for (MethodDescription originMethod : memberSelector.getMethods(originType)) {
-            functionalMapperClasses.add(
-                    elementFactory.getMethodElement(originType, originMethod).build(originType)
-            );
+            builds.put(originMethod, () -> elementFactory.getMethodElement(originType, originMethod).build(originType));
         }
 
         for (FieldDescription field : memberSelector.getFields(originType)) {
-            functionalMapperClasses.add(
-                    elementFactory.getFieldElement(originType, field).build(originType)
-            );
+            builds.put(field, () -> elementFactory.getFieldElement(originType, field).build(originType));
         }
 
-        return functionalMapperClasses;
+        return ElementBuilds.buildAll(executor, builds);
     }
 
     @SuppressWarnings("unchecked")
@@ -65,6 +69,7 @@ public class DefaultListElementSource<F> implements ListElementSource<F> {
         private final Class<F> elementType;
         private MemberSelector memberSelector;
         private ElementFactory<F> elementFactory;
+        private Executor executor;
 
         public AbstractBuilder(Class<F> elementType) {
             this.elementType = elementType;
@@ -87,6 +92,19 @@ public class DefaultListElementSource<F> implements ListElementSource<F> {
             return (T)this;
         }
 
+        /**
+         * Sets the executor to generate element classes of the members in parallel.
+         * Element classes are generated in the calling thread by default.
+         * The list keeps the order of the members anyway.
+         *
+         * @param executor Executor, {@code null} to generate in the calling thread
+         * @return This builder
+         */
+        public T setExecutor(Executor executor) {
+            this.executor = executor;
+            return (T) this;
+        }
+
         public <A extends Annotation> T setMarkerAnnotation(Class<A> marker, Function<A, String> keyGetter) {
             setMarkerAnnotation(marker);
             return (T) this;
@@ -108,7 +126,7 @@ public class DefaultListElementSource<F> implements ListElementSource<F> {
 
         @Override
         public ListElementSource<F> build() {
-            return new DefaultListElementSource<>(memberSelector, elementFactory);
+            return new DefaultListElementSource<>(memberSelector, elementFactory, executor);
         }
     }
 
@@ -18,7 +18,7 @@ package com.github.antkudruk.uniformfactory.methodlist.descriptors;
 
 import com.github.antkudruk.uniformfactory.base.AbstractMethodCollectionDescriptor;
 import com.github.antkudruk.uniformfactory.base.Enhancer;
-import com.github.antkudruk.uniformfactory.base.IdentifierGeneratorImpl;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.exception.WrongTypeException;
 import com.github.antkudruk.uniformfactory.classfactory.ChildMethodDescriptionBuilderWrapper;
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
@@ -39,6 +39,8 @@ import java.util.List;
  */
 public class MethodListDescriptor<F> extends AbstractMethodCollectionDescriptor<F> {
 
+    private static final String FIELD_NAME_PREFIX = "uniformFactoryField";
+
     private final ListElementSource<F> elementSource;
 
     private MethodListDescriptor(Method wrapperMethod,
@@ -61,7 +63,7 @@ public class MethodListDescriptor<F> extends AbstractMethodCollectionDescriptor<
     @Override
     public Enhancer getEnhancer(TypeDescription originType) throws ClassGeneratorException {
         return new MethodListEnhancer<>(
-                IdentifierGeneratorImpl.FIELD_ID_GENERATOR.next(),
+                GeneratedNames.fieldName(FIELD_NAME_PREFIX, wrapperMethod),
                 originType,
                 wrapperMethod,
                 elementSource.elements(originType));
@@ -18,6 +18,8 @@ package com.github.antkudruk.uniformfactory.methodmap.descriptors;
 
 import com.github.antkudruk.uniformfactory.base.Builds;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.exception.DuplicateMapKeyException;
+import com.github.antkudruk.uniformfactory.methodcollection.ElementBuilds;
 import com.github.antkudruk.uniformfactory.methodcollection.ElementFactory;
 import com.github.antkudruk.uniformfactory.methodcollection.ElementFactoryBuilderParentReference;
 import com.github.antkudruk.uniformfactory.methodcollection.GetterElementFactory;
@@ -32,9 +34,16 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 @AllArgsConstructor
@@ -48,25 +57,105 @@ public class AnnotationMapElementSource<F> implements MapElementSource<F> {
     private final MemberSelector memberSelector;
     @NonNull
     private final ElementFactory<F> elementFactory;
+    private final boolean dispatching;
+    private final Executor executor;
+
+    public AnnotationMapElementSource(
+            Function<MethodDescription, String> methodKeyGetter,
+            Function<FieldDescription, String> fieldKeyGetter,
+            MemberSelector memberSelector,
+            ElementFactory<F> elementFactory) {
+        this(methodKeyGetter, fieldKeyGetter, memberSelector, elementFactory, false, null);
+    }
 
     @Override
     public Map<String, DynamicType.Unloaded<? extends F>> memberEntries(TypeDescription originType) throws ClassGeneratorException {
-        Map<String, DynamicType.Unloaded<? extends F>> functionalMapperClasses = new HashMap<>();
+        return entries(originType).getMemberEntries();
+    }
+
+    @Override
+    public Map<String, Function<Object, ? extends F>> sharedEntries(TypeDescription originType)
+            throws ClassGeneratorException {
+        return entries(originType).getSharedEntries();
+    }
+
+    @Override
+    public MapElementEntries<F> entries(TypeDescription originType) throws ClassGeneratorException {
+        List<String> keys = new ArrayList<>();
+        Map<Object, ElementBuilds.ElementBuild<DynamicType.Unloaded<? extends F>>> builds = new LinkedHashMap<>();
+        Map<String, Function<Object, ? extends F>> sharedElements = new HashMap<>();
 
         for (MethodDescription originMethod : memberSelector.getMethods(originType)) {
-            functionalMapperClasses.put(
-                    methodKeyGetter.apply(originMethod),
-                    elementFactory.getMethodElement(originType, originMethod).build(originType)
-            );
+            Optional<Function<Object, ? extends F>> sharedElement
+                    = elementFactory.getSharedMethodElement(originType, originMethod);
+            if (sharedElement.isPresent()) {
+                sharedElements.put(methodKeyGetter.apply(originMethod), sharedElement.get());
+                continue;
+            }
+            keys.add(methodKeyGetter.apply(originMethod));
+            builds.put(originMethod, () -> elementFactory.getMethodElement(originType, originMethod).build(originType));
         }
 
         for (FieldDescription field : memberSelector.getFields(originType)) {
-            functionalMapperClasses.put(
-                    fieldKeyGetter.apply(field),
-                    elementFactory.getFieldElement(originType, field).build(originType)
-            );
+            Optional<Function<Object, ? extends F>> sharedElement
+                    = elementFactory.getSharedFieldElement(originType, field);
+            if (sharedElement.isPresent()) {
+                sharedElements.put(fieldKeyGetter.apply(field), sharedElement.get());
+                continue;
+            }
+            keys.add(fieldKeyGetter.apply(field));
+            builds.put(field, () -> elementFactory.getFieldElement(originType, field).build(originType));
+        }
+
+        List<DynamicType.Unloaded<? extends F>> types = ElementBuilds.buildAll(executor, builds);
+        Map<String, DynamicType.Unloaded<? extends F>> functionalMapperClasses = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            functionalMapperClasses.put(keys.get(i), types.get(i));
         }
-        return functionalMapperClasses;
+        return new MapElementEntries<>(functionalMapperClasses, sharedElements);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Dispatches to the members in the dispatching mode only, and if the
+     * element factory supports it. Several members with the same key are
+     * rejected, since a dispatcher can't tell them apart.
+     */
+    @Override
+    public Optional<MapElementDispatcher<F>> dispatcher(TypeDescription originType) throws ClassGeneratorException {
+        if (!dispatching) {
+            return Optional.empty();
+        }
+        List<MethodDescription> methods = memberSelector.getMethods(originType);
+        List<FieldDescription> fields = memberSelector.getFields(originType);
+        if (methods.isEmpty() && fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<DynamicType.Unloaded<? extends F>> type = elementFactory.getDispatcher(originType, methods, fields);
+        if (!type.isPresent()) {
+            return Optional.empty();
+        }
+
+        Set<String> keys = new HashSet<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < methods.size(); i++) {
+            indexes.put(addKey(keys, methodKeyGetter.apply(methods.get(i))), i);
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            indexes.put(addKey(keys, fieldKeyGetter.apply(fields.get(i))), methods.size() + i);
+        }
+        return Optional.of(new MapElementDispatcher<>(type.get(), indexes));
+    }
+
+    // Checks that no other member has the key
+    private static String addKey(Set<String> keys, String key) throws DuplicateMapKeyException {
+        if (keys.contains(key)) {
+            throw new DuplicateMapKeyException(key);
+        }
+        keys.add(key);
+        return key;
     }
 
     @SuppressWarnings("unchecked")
@@ -77,6 +166,8 @@ public class AnnotationMapElementSource<F> implements MapElementSource<F> {
         private Function<MethodDescription, String> methodKeyGetter;
         private Function<FieldDescription, String> fieldKeyGetter;
         private ElementFactory<F> elementFactory;
+        private boolean dispatching;
+        private Executor executor;
         private final Class<F> elementType;
 
         public AbstractBuilder(Class<F> elementType) {
@@ -109,6 +200,42 @@ public class AnnotationMapElementSource<F> implements MapElementSource<F> {
             return (T) this;
         }
 
+        /**
+         * Sets whether to generate a single element class for all the entries
+         * of the map instead of a class for each entry. The element class
+         * dispatches the call by the entry index.
+         *
+         * It cuts the number of generated classes for origins having many members.
+         * Applied to getter elements of interface types only. Takes precedence
+         * over shared elements. The build executor isn't used, since there's
+         * a single class to generate.
+         *
+         * Unlike the per-member entries, where the last member with a key
+         * wins, the dispatching mode fails with {@link DuplicateMapKeyException}
+         * if several members have the same key.
+         *
+         * @param dispatching {@code true} to generate a single element class
+         * @return This builder
+         */
+        public T setDispatching(boolean dispatching) {
+            this.dispatching = dispatching;
+            return (T) this;
+        }
+
+        /**
+         * Sets the executor to generate element classes of the members in parallel.
+         * Element classes are generated in the calling thread by default.
+         *
+         * Pays off for origins having many members.
+         *
+         * @param executor Executor, {@code null} to generate in the calling thread
+         * @return This builder
+         */
+        public T setExecutor(Executor executor) {
+            this.executor = executor;
+            return (T) this;
+        }
+
         public <A extends Annotation> T setMarkerAnnotation(Class<A> marker, Function<A, String> keyGetter) {
             setMarkerAnnotation(marker);
             setMethodKeyGetter(md -> keyGetter.apply(Objects.requireNonNull(md.getDeclaredAnnotations().ofType(marker)).load()));
@@ -136,7 +263,9 @@ public class AnnotationMapElementSource<F> implements MapElementSource<F> {
                     methodKeyGetter,
                     fieldKeyGetter,
                     memberSelector,
-                    elementFactory);
+                    elementFactory,
+                    dispatching,
+                    executor);
         }
     }
 
@@ -0,0 +1,43 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.methodmap.descriptors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.util.Map;
+
+/**
+ * Single element class for all the entries of a method map.
+ *
+ * @param <F> Element interface
+ */
+@Getter
+@RequiredArgsConstructor
+public class MapElementDispatcher<F> {
+
+    /**
+     * Element class having a constructor taking the origin and the entry index
+     */
+    private final DynamicType.Unloaded<? extends F> type;
+
+    /**
+     * Entry indexes by keys
+     */
+    private final Map<String, Integer> indexes;
+}
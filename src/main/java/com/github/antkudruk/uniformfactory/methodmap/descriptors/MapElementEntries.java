@@ -0,0 +1,46 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.github.antkudruk.uniformfactory.methodmap.descriptors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Entries of a method map, having an element class each or sharing
+ * element classes between origin classes.
+ *
+ * @param <F> Element interface
+ */
+@Getter
+@RequiredArgsConstructor
+public class MapElementEntries<F> {
+
+    /**
+     * Element classes by keys
+     */
+    private final Map<String, DynamicType.Unloaded<? extends F>> memberEntries;
+
+    /**
+     * Constructors of elements of shared classes by keys
+     */
+    private final Map<String, Function<Object, ? extends F>> sharedEntries;
+}
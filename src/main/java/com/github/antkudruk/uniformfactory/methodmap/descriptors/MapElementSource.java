@@ -20,9 +20,48 @@ import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @FunctionalInterface
 public interface MapElementSource<F> {
     Map<String, DynamicType.Unloaded<? extends F>> memberEntries(TypeDescription originType) throws ClassGeneratorException;
+
+    /**
+     * Generates a single element class for all the map entries. Each entry
+     * is an instance of the class created with the origin and the entry index.
+     *
+     * @param originType Origin type
+     * @return Dispatcher, or nothing to generate a class for each entry with {@link #memberEntries}
+     * @throws ClassGeneratorException Thrown if a member can't be wrapped
+     */
+    default Optional<MapElementDispatcher<F>> dispatcher(TypeDescription originType) throws ClassGeneratorException {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns entries with elements of classes shared between origin classes.
+     * {@link #memberEntries} doesn't generate classes for these entries.
+     *
+     * @param originType Origin type
+     * @return Element constructors taking the origin, by keys
+     * @throws ClassGeneratorException Thrown if a member can't be wrapped
+     */
+    default Map<String, Function<Object, ? extends F>> sharedEntries(TypeDescription originType)
+            throws ClassGeneratorException {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns both {@link #memberEntries} and {@link #sharedEntries}.
+     *
+     * @param originType Origin type
+     * @return All the entries
+     * @throws ClassGeneratorException Thrown if a member can't be wrapped
+     */
+    default MapElementEntries<F> entries(TypeDescription originType) throws ClassGeneratorException {
+        return new MapElementEntries<>(memberEntries(originType), sharedEntries(originType));
+    }
 }
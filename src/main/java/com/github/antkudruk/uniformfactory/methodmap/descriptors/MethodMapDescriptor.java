@@ -18,7 +18,7 @@ package com.github.antkudruk.uniformfactory.methodmap.descriptors;
 
 import com.github.antkudruk.uniformfactory.base.AbstractMethodCollectionDescriptor;
 import com.github.antkudruk.uniformfactory.base.Enhancer;
-import com.github.antkudruk.uniformfactory.base.IdentifierGeneratorImpl;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.classfactory.ChildMethodDescriptionBuilderWrapper;
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
 import com.github.antkudruk.uniformfactory.base.exception.WrongTypeException;
@@ -29,6 +29,7 @@ import net.bytebuddy.description.type.TypeDescription;
 
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  *
@@ -41,6 +42,8 @@ import java.util.Map;
  */
 public class MethodMapDescriptor<F> extends AbstractMethodCollectionDescriptor<F> {
 
+    private static final String FIELD_NAME_PREFIX = "uniformFactoryField";
+
     private final MapElementSource<F> mapElementSource;
 
     public MethodMapDescriptor(Method wrapperMethod,
@@ -56,11 +59,23 @@ public class MethodMapDescriptor<F> extends AbstractMethodCollectionDescriptor<F
      */
     @Override
     public Enhancer getEnhancer(TypeDescription originType) throws ClassGeneratorException {
+        String fieldName = GeneratedNames.fieldName(FIELD_NAME_PREFIX, wrapperMethod);
+        Optional<MapElementDispatcher<F>> dispatcher = mapElementSource.dispatcher(originType);
+        if (dispatcher.isPresent()) {
+            return new MethodMapEnhancer<>(
+                    fieldName,
+                    originType,
+                    wrapperMethod,
+                    dispatcher.get().getType(),
+                    dispatcher.get().getIndexes());
+        }
+        MapElementEntries<F> entries = mapElementSource.entries(originType);
         return new MethodMapEnhancer<>(
-                IdentifierGeneratorImpl.FIELD_ID_GENERATOR.next(),
+                fieldName,
                 originType,
                 wrapperMethod,
-                mapElementSource.memberEntries(originType));
+                entries.getMemberEntries(),
+                entries.getSharedEntries());
     }
 
     private void validate() {
@@ -17,8 +17,9 @@
 package com.github.antkudruk.uniformfactory.methodmap.enhancers;
 
 import com.github.antkudruk.uniformfactory.base.Enhancer;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.bytecode.InitMapImplementation;
-import lombok.AllArgsConstructor;
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.ForStaticField;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.FieldAccessor;
@@ -27,38 +28,112 @@ import net.bytebuddy.jar.asm.Opcodes;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Enhancer for Method Map.
  * Defines {@code Map} field and initiates it using {@code InitMapImplementation} class.
  * Implements <b>origin</b> method to access that field.
  */
-@AllArgsConstructor
 public class MethodMapEnhancer<F> implements Enhancer {
 
     private final String fieldName;
     private final TypeDescription originType;
     private final Method wrapperMethod;
     private final Map<String, DynamicType.Unloaded<? extends F>> functionalMap;
+    private final Map<String, Integer> dispatcherIndexes;
+    private final Map<String, Function<Object, ? extends F>> sharedElements;
+
+    public MethodMapEnhancer(
+            String fieldName,
+            TypeDescription originType,
+            Method wrapperMethod,
+            Map<String, DynamicType.Unloaded<? extends F>> functionalMap) {
+        this(fieldName, originType, wrapperMethod, functionalMap, Collections.emptyMap());
+    }
+
+    /**
+     * Creates an enhancer filling the map with generated elements as well as
+     * with elements of shared classes.
+     *
+     * @param sharedElements Constructors of shared elements by keys, taking the origin
+     */
+    public MethodMapEnhancer(
+            String fieldName,
+            TypeDescription originType,
+            Method wrapperMethod,
+            Map<String, DynamicType.Unloaded<? extends F>> functionalMap,
+            Map<String, Function<Object, ? extends F>> sharedElements) {
+        this.fieldName = fieldName;
+        this.originType = originType;
+        this.wrapperMethod = wrapperMethod;
+        this.functionalMap = functionalMap;
+        this.dispatcherIndexes = Collections.emptyMap();
+        this.sharedElements = sharedElements;
+    }
+
+    /**
+     * Creates an enhancer filling the map with instances of a single element class.
+     *
+     * @param dispatcherType Element class having a constructor taking the origin and the entry index
+     * @param dispatcherIndexes Entry indexes by keys
+     */
+    public MethodMapEnhancer(
+            String fieldName,
+            TypeDescription originType,
+            Method wrapperMethod,
+            DynamicType.Unloaded<? extends F> dispatcherType,
+            Map<String, Integer> dispatcherIndexes) {
+        this.fieldName = fieldName;
+        this.originType = originType;
+        this.wrapperMethod = wrapperMethod;
+        this.functionalMap = new HashMap<>();
+        for (String key : dispatcherIndexes.keySet()) {
+            functionalMap.put(key, dispatcherType);
+        }
+        this.dispatcherIndexes = dispatcherIndexes;
+        this.sharedElements = Collections.emptyMap();
+    }
 
     @Override
     public Implementation.Composable addInitiation(
             Implementation.Composable methodCall) {
-
         return methodCall.andThen(new InitMapImplementation<>(
                 fieldName,
                 originType,
-                functionalMap
+                functionalMap,
+                dispatcherIndexes,
+                getSharedElementFields()
         ));
     }
 
     @Override
     public <N> DynamicType.Builder<N> addMethod(DynamicType.Builder<N> bbBuilder) {
+        Map<String, String> sharedElementFields = getSharedElementFields();
+        for (Map.Entry<String, Function<Object, ? extends F>> entry : sharedElements.entrySet()) {
+            String sharedElementField = sharedElementFields.get(entry.getKey());
+            bbBuilder = bbBuilder
+                    .defineField(sharedElementField, Function.class,
+                            Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
+                    .initializer(new ForStaticField(sharedElementField, entry.getValue()));
+        }
+
         return bbBuilder
                 .defineField(fieldName, Map.class, Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
                 .define(wrapperMethod)
                 .intercept(FieldAccessor.ofField(fieldName))
-                .require(new ArrayList<>(functionalMap.values()));
+                .require(new ArrayList<>(new LinkedHashSet<>(functionalMap.values())));
+    }
+
+    private Map<String, String> getSharedElementFields() {
+        Map<String, String> sharedElementFields = new HashMap<>();
+        for (String key : sharedElements.keySet()) {
+            sharedElementFields.put(key, GeneratedNames.fieldName(fieldName, key));
+        }
+        return sharedElementFields;
     }
 }
@@ -1,10 +1,10 @@
 package com.github.antkudruk.uniformfactory.pluginbuilder;
 
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.pluginbuilder.exceptions.*;
 import lombok.Getter;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
-import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatchers;
 
 @Getter
@@ -48,8 +48,7 @@ public class WrapperDescriptor<W> {
     }
 
     void validateForOrigin(Class<?> originClass) {
-        MethodList<MethodDescription.InDefinedShape> methods = new TypeDescription
-                .ForLoadedType(originClass)
+        MethodList<MethodDescription.InDefinedShape> methods = TypeDescriptions.of(originClass)
                 .getDeclaredMethods()
                 .filter(ElementMatchers.named(methodName).and(ElementMatchers.takesNoArguments()));
         if(methods.size() == 0) {
@@ -17,10 +17,12 @@
 package com.github.antkudruk.uniformfactory.pluginbuilder;
 
 import com.github.antkudruk.uniformfactory.base.Enhancer;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.bytecode.EmptyImplementation;
 import com.github.antkudruk.uniformfactory.base.bytecode.InitFieldWithDefaultConstructorImplementation;
 import com.github.antkudruk.uniformfactory.classfactory.EnhancerBasedEnhancer;
 import com.github.antkudruk.uniformfactory.classfactory.WrapperEnhancer;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.pluginbuilder.exceptions.AmbiguousGetWrapperMethodException;
 import com.github.antkudruk.uniformfactory.pluginbuilder.exceptions.OriginInterfaceNotDefinedException;
 import com.github.antkudruk.uniformfactory.pluginbuilder.exceptions.SelectClassCriteriaNotDefinedException;
@@ -77,7 +79,7 @@ public class WrapperPlugin implements Plugin {
                 .stream()
                 .collect(Collectors.toMap(
                         WrapperDescriptor::getWrapperField,
-                        e -> createSingletonHolder(e.getWrapperClassFactory())
+                        e -> createSingletonHolder(e.getWrapperClassFactory(), e.getWrapperField())
                 ));
     }
 
@@ -360,7 +362,7 @@ public class WrapperPlugin implements Plugin {
             ClassFileLocator classFileLocator) {
 
         // Add interface if needed
-        if (!typeDescription.getInterfaces().contains(new TypeDescription.ForLoadedType(originInterface).asGenericType())) {
+        if (!typeDescription.getInterfaces().contains(TypeDescriptions.of(originInterface).asGenericType())) {
             builder = builder.implement(originInterface);
         }
 
@@ -389,7 +391,7 @@ public class WrapperPlugin implements Plugin {
     }
 
     private boolean shouldImplement(TypeDescription typeDescription, String getWrapperMethodName) {
-        MethodDescription originMethodReturningWrapper = new TypeDescription.ForLoadedType(originInterface)
+        MethodDescription originMethodReturningWrapper = TypeDescriptions.of(originInterface)
                 .getDeclaredMethods()
                 .filter(ElementMatchers.named(getWrapperMethodName))
                 .getOnly();
@@ -439,15 +441,20 @@ public class WrapperPlugin implements Plugin {
     }
 
     private DynamicType.Unloaded<? extends MetaClassFactory<?>> createSingletonHolder(
-            Class<? extends MetaClassFactory<?>> classFactoryGenerator) {
+            Class<? extends MetaClassFactory<?>> classFactoryGenerator,
+            String wrapperField) {
         ByteBuddy byteBuddy = new ByteBuddy();
         //noinspection unchecked,rawtypes
         return (DynamicType.Unloaded)byteBuddy
                 .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(GeneratedNames.className(
+                        TypeDescriptions.of(classFactoryGenerator),
+                        "SingletonHolder",
+                        wrapperField))
                 .defineField(INSTANCE_FIELD_NAME, classFactoryGenerator, Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC)
                 .invokable(ElementMatchers.isTypeInitializer())
                 .intercept(new InitFieldWithDefaultConstructorImplementation(
-                        new TypeDescription.ForLoadedType(classFactoryGenerator),
+                        TypeDescriptions.of(classFactoryGenerator),
                         INSTANCE_FIELD_NAME))
                 .make();
     }
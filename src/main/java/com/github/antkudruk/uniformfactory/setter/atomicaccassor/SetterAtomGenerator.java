@@ -16,6 +16,7 @@
 
 package com.github.antkudruk.uniformfactory.setter.atomicaccassor;
 
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.bytecode.InitInnerFieldWithArgumentImplementation;
 import com.github.antkudruk.uniformfactory.base.bytecode.PureSetterImplementation;
 import com.github.antkudruk.uniformfactory.singleton.argument.exceptions.ParameterTranslatorNotFound;
@@ -61,7 +62,8 @@ public class SetterAtomGenerator extends AbstractAtomGenerator {
         List<PartialDescriptor> partialDescriptors = parameterMapper.getParameterBinders(pureSetterMethod);
 
         DynamicType.Builder bbBuilder = new ByteBuddy()
-                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS);
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(GeneratedNames.className(originClass, "SetterAtom", wrapperMethod, fieldType));
         bbBuilder = bbBuilder
                 .defineField(ORIGIN_FIELD_NAME, pureSetterClass.getTypeDescription(),
                 Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
@@ -93,6 +95,7 @@ public class SetterAtomGenerator extends AbstractAtomGenerator {
     ) {
         return new ByteBuddy()
                 .subclass(Object.class)
+                .name(GeneratedNames.className(originClass, "PureSetter", fieldDescription))
                 .defineField(ORIGIN_FIELD_NAME, originClass,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
                 .defineConstructor(Visibility.PUBLIC)
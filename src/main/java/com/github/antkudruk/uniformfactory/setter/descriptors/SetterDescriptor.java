@@ -34,21 +34,19 @@ import net.bytebuddy.description.type.TypeDescription;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 public class SetterDescriptor<A> extends AbstractMethodWithMappersDescriptorImpl {
 
     private static final String FIELD_NAME_PREFIX = "setterMethod";
-    private static final AtomicLong fieldNameIndex = new AtomicLong(0L);
 
-    private final String fieldAccessorFieldName
-            = FIELD_NAME_PREFIX + fieldNameIndex.incrementAndGet();
+    private final String fieldAccessorFieldName;
 
     public SetterDescriptor(
             Method wrapperMethod,
             MemberSelector memberSelector,
             ParameterBindersSource parameterMapper) {
         super(wrapperMethod, memberSelector, parameterMapper);
+        this.fieldAccessorFieldName = GeneratedNames.fieldName(FIELD_NAME_PREFIX, wrapperMethod);
     }
 
     @Override
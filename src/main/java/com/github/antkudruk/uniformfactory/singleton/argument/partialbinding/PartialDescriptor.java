@@ -41,6 +41,14 @@ public interface PartialDescriptor {
      */
     MethodCall addWith(MethodCall methodCall);
 
+    /**
+     * Evaluates the parameter without generated code.
+     *
+     * @param wrapperArguments Arguments of the wrapper method
+     * @return Value of the corresponding origin method parameter
+     */
+    Object getValue(Object[] wrapperArguments);
+
     /**
      * Initiates resources for the further mappers (i. e. static fields for
      * persisting argument translators)
@@ -52,4 +60,15 @@ public interface PartialDescriptor {
     default <W> DynamicType.Builder<W> initiate(DynamicType.Builder<W> bbBuilder) {
         return bbBuilder;
     }
+
+    /**
+     * Returns the descriptor naming its resources with the prefix, so that
+     * descriptors of several origin methods can initiate the same class.
+     *
+     * @param fieldNamePrefix Prefix for the names of the static fields
+     * @return Descriptor with the prefixed resources
+     */
+    default PartialDescriptor withFieldNamePrefix(String fieldNamePrefix) {
+        return this;
+    }
 }
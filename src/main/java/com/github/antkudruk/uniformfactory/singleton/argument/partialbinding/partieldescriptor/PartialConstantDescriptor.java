@@ -37,4 +37,9 @@ public class PartialConstantDescriptor<O> implements PartialDescriptor {
     public MethodCall addWith(MethodCall methodCall) {
         return methodCall.with(constant);
     }
+
+    @Override
+    public Object getValue(Object[] wrapperArguments) {
+        return constant;
+    }
 }
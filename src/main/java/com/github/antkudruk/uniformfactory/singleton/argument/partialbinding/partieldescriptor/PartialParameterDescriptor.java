@@ -16,11 +16,11 @@
 
 package com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.partieldescriptor;
 
+import com.github.antkudruk.uniformfactory.base.Translators;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.CrossLoadersFunctionAdapter;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.ForStaticField;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
@@ -31,10 +31,11 @@ import java.util.function.Function;
 /**
  * Adds auxiliary object providing parameter from the wrapper method
  * to the origin method with {@code parameterTranslator} applied.
+ * The identity translator isn't called: the wrapper method argument is passed
+ * right to the origin method.
  * @param <O> Origin parameter type.
  * @param <N> Wrapper parameter type.
  */
-@RequiredArgsConstructor
 public class PartialParameterDescriptor<O, N> implements PartialDescriptor {
 
     private static final String PARAMETER_TRANSLATOR = "PARAMETER_TRANSLATOR_";
@@ -43,9 +44,24 @@ public class PartialParameterDescriptor<O, N> implements PartialDescriptor {
     private final int originIndex;
     private final int wrapperIndex;
     private final Function<N, O> parameterTranslator;
+    private final String fieldNamePrefix;
+
+    public PartialParameterDescriptor(int originIndex, int wrapperIndex, Function<N, O> parameterTranslator) {
+        this(originIndex, wrapperIndex, parameterTranslator, "");
+    }
+
+    private PartialParameterDescriptor(int originIndex,
+                                       int wrapperIndex,
+                                       Function<N, O> parameterTranslator,
+                                       String fieldNamePrefix) {
+        this.originIndex = originIndex;
+        this.wrapperIndex = wrapperIndex;
+        this.parameterTranslator = parameterTranslator;
+        this.fieldNamePrefix = fieldNamePrefix;
+    }
 
     private String getMapperName() {
-        return PARAMETER_TRANSLATOR + originIndex;
+        return fieldNamePrefix + PARAMETER_TRANSLATOR + originIndex;
     }
 
     /**
@@ -53,17 +69,31 @@ public class PartialParameterDescriptor<O, N> implements PartialDescriptor {
      */
     @Override
     public <F> DynamicType.Builder<F> initiate(DynamicType.Builder<F> bbBuilder) {
+        if (Translators.isIdentity(parameterTranslator)) {
+            return bbBuilder;
+        }
         return bbBuilder.defineField(getMapperName(), CrossLoadersFunctionAdapter.class,
                 Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
                 .initializer(new ForStaticField(getMapperName(),
                         new CrossLoadersFunctionAdapter(parameterTranslator)));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PartialDescriptor withFieldNamePrefix(String fieldNamePrefix) {
+        return new PartialParameterDescriptor<>(originIndex, wrapperIndex, parameterTranslator, fieldNamePrefix);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public MethodCall addWith(MethodCall methodCall) {
+        if (Translators.isIdentity(parameterTranslator)) {
+            return methodCall.withArgument(wrapperIndex);
+        }
         try {
             return methodCall.withMethodCall(
                     (MethodCall) MethodCall
@@ -76,4 +106,13 @@ public class PartialParameterDescriptor<O, N> implements PartialDescriptor {
             throw new RuntimeException("Method apply(Object) DOES exist", ex);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object getValue(Object[] wrapperArguments) {
+        return parameterTranslator.apply((N) wrapperArguments[wrapperIndex]);
+    }
 }
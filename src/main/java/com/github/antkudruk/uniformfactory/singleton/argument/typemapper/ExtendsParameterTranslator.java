@@ -1,5 +1,6 @@
 package com.github.antkudruk.uniformfactory.singleton.argument.typemapper;
 
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.bytebuddy.description.type.TypeDescription;
@@ -15,7 +16,7 @@ public class ExtendsParameterTranslator<A> implements SingleParameterTranslator<
     private final Function<A, ?> translator;
 
     public ExtendsParameterTranslator(Class<?> originParameterClass, Function<A, ?> translator) {
-        this(new TypeDescription.ForLoadedType(originParameterClass), translator);
+        this(TypeDescriptions.of(originParameterClass), translator);
     }
 
     @Override
@@ -16,8 +16,10 @@
 
 package com.github.antkudruk.uniformfactory.singleton.argument.typemapper;
 
+import com.github.antkudruk.uniformfactory.base.IdentityTranslator;
 import net.bytebuddy.description.type.TypeDescription;
 
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Optional;
@@ -102,10 +104,11 @@ public class ParameterMappersCollection<A> {
     private static <A> ParameterMappersCollection<A> getDefault(Class<A> wrapperParameterType) {
         ParameterMappersCollection<A> collection = new ParameterMappersCollection<>(wrapperParameterType, null);
         collection.add(
-                new SuperParameterTranslator<>(Object.class, t -> t));
+                new SuperParameterTranslator<>(Object.class, IdentityTranslator.get()));
         collection.add(
-                new ExtendsParameterTranslator<>(wrapperParameterType, t -> t));
-        collection.add(new ExtendsParameterTranslator<>(String.class, Object::toString));
+                new ExtendsParameterTranslator<>(wrapperParameterType, IdentityTranslator.get()));
+        collection.add(new ExtendsParameterTranslator<>(String.class,
+                (Function<A, String> & Serializable) Object::toString));
         return collection;
     }
 }
@@ -1,5 +1,6 @@
 package com.github.antkudruk.uniformfactory.singleton.argument.typemapper;
 
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.bytebuddy.description.type.TypeDescription;
@@ -15,7 +16,7 @@ public class SuperParameterTranslator<A> implements SingleParameterTranslator<A>
     private final Function<A, ?> translator;
 
     public SuperParameterTranslator(Class<?> originParameterClass, Function<A, ?> translator) {
-        this(new TypeDescription.ForLoadedType(originParameterClass), translator);
+        this(TypeDescriptions.of(originParameterClass), translator);
     }
 
     @Override
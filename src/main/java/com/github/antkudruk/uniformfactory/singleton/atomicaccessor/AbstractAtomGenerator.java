@@ -16,7 +16,9 @@
 
 package com.github.antkudruk.uniformfactory.singleton.atomicaccessor;
 
+import com.github.antkudruk.uniformfactory.base.Translators;
 import com.github.antkudruk.uniformfactory.base.TypeShortcuts;
+import com.github.antkudruk.uniformfactory.base.bytecode.CastingAssigner;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.modifier.Visibility;
@@ -36,13 +38,14 @@ import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Const
 
 public abstract class AbstractAtomGenerator {
 
-    private static final String RESULT_TRANSLATOR = "RESULT_TRANSLATOR";
+    protected static final String RESULT_TRANSLATOR = "RESULT_TRANSLATOR";
 
     /**
      * Generates method call to intercept origin method call taking in consideration
      * parameter translators.
      *
-     * Parameter translators are taken from {@code partialDescriptors}
+     * Parameter translators are taken from {@code partialDescriptors}.
+     * Arguments that aren't translated are cast by {@link CastingAssigner}.
      *
      * @param originMethod Origin method to invoke.
      * @param partialDescriptors Collection of descriptors to map method parameters.
@@ -60,16 +63,46 @@ public abstract class AbstractAtomGenerator {
             methodCall = it.addWith(methodCall);
         }
 
-        return (MethodCall) methodCall.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+        return (MethodCall) methodCall.withAssigner(CastingAssigner.INSTANCE, Assigner.Typing.DYNAMIC);
+    }
+
+    /**
+     * Checks if the origin result is returned by the wrapper method as is,
+     * with a cast or a primitive widening at most. In this case, the method
+     * call is intercepted without the result translator, and its field isn't
+     * needed.
+     *
+     * @param translator Result translator
+     * @param originType Origin result type
+     * @param wrapperType Wrapper method result type
+     * @return {@code true} if the result translator isn't called
+     */
+    protected static boolean passesResultThrough(
+            Function translator,
+            TypeDescription originType,
+            Class<?> wrapperType) {
+        if (originType.represents(void.class)) {
+            return false;
+        }
+        return Translators.isIdentity(translator) || Translators.getPrimitiveResultType(translator, originType)
+                .filter(t -> t.represents(wrapperType))
+                .isPresent();
     }
 
     protected static <B> DynamicType.Builder<B> createResultTranslatorField(
             DynamicType.Builder<B> bbBuilder,
             Function translator) {
+        return createResultTranslatorField(bbBuilder, RESULT_TRANSLATOR, translator);
+    }
 
-        return bbBuilder.defineField(RESULT_TRANSLATOR, CrossLoadersFunctionAdapter.class,
+    protected static <B> DynamicType.Builder<B> createResultTranslatorField(
+            DynamicType.Builder<B> bbBuilder,
+            String fieldName,
+            Function translator) {
+
+        return bbBuilder.defineField(fieldName, CrossLoadersFunctionAdapter.class,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
-                .initializer(new ForStaticField(RESULT_TRANSLATOR,
+                .initializer(new ForStaticField(fieldName,
                         new CrossLoadersFunctionAdapter(translator)));
     }
 
@@ -96,10 +129,14 @@ public abstract class AbstractAtomGenerator {
     }
 
     protected static MethodCall addResultTranslator(MethodCall methodCall) {
+        return addResultTranslator(methodCall, RESULT_TRANSLATOR);
+    }
+
+    protected static MethodCall addResultTranslator(MethodCall methodCall, String fieldName) {
         try {
             return (MethodCall) MethodCall
                     .invoke(CrossLoadersFunctionAdapter.class.getMethod("apply", Object.class))
-                    .onField(RESULT_TRANSLATOR)
+                    .onField(fieldName)
                     .withMethodCall(methodCall)
                     .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
         } catch (NoSuchMethodException ex) {
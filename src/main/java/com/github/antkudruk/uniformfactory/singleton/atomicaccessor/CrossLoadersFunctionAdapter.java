@@ -28,6 +28,10 @@ public class CrossLoadersFunctionAdapter {
         this.function = function;
     }
 
+    public Function getFunction() {
+        return function;
+    }
+
     @SuppressWarnings("unchecked")
     public Object apply(Object t) {
         return function.apply(t);
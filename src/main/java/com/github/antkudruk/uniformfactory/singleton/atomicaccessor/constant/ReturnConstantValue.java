@@ -16,6 +16,8 @@
 
 package com.github.antkudruk.uniformfactory.singleton.atomicaccessor.constant;
 
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
@@ -23,8 +25,11 @@ import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.FieldAccessor;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.jar.asm.Opcodes;
 
+import java.lang.reflect.Method;
+
 import static com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts.findConstructor;
 import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Constants.METHOD_NAME;
 import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Constants.ORIGIN_FIELD_NAME;
@@ -37,6 +42,7 @@ public class ReturnConstantValue {
             TypeDescription originClass, T value) {
         return new ByteBuddy()
                 .subclass(Object.class)
+                .name(GeneratedNames.className(originClass, "ConstantAtom", getNameParts(value)))
 
                 .defineField(ORIGIN_FIELD_NAME, originClass,
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC)
@@ -49,4 +55,31 @@ public class ReturnConstantValue {
                 .intercept(value == null ? FixedValue.nullValue() : FixedValue.value(value))
                 .make();
     }
+
+    // The string of other values may contain the identity hash, which changes between runs
+    private static Object[] getNameParts(Object value) {
+        if (value == null) {
+            return new Object[] {null};
+        }
+        if (value instanceof String || TypeDescriptions.of(value.getClass()).isPrimitiveWrapper()) {
+            return new Object[] {value.getClass().getName(), value};
+        }
+        return new Object[] {value.getClass().getName()};
+    }
+
+    /**
+     * Implements the wrapper method returning the constant right in the
+     * wrapper class, without an atom object.
+     *
+     * @param bbBuilder Wrapper class builder
+     * @return Wrapper class builder implementing the wrapper method
+     */
+    public <W, T> DynamicType.Builder<W> inline(
+            DynamicType.Builder<W> bbBuilder, T value, Method wrapperMethod) {
+        return bbBuilder
+                .define(wrapperMethod)
+                .intercept(value == null
+                        ? FixedValue.nullValue()
+                        : FixedValue.value(value).withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+    }
 }
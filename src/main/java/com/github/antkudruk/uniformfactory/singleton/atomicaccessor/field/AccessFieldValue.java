@@ -16,6 +16,7 @@
 
 package com.github.antkudruk.uniformfactory.singleton.atomicaccessor.field;
 
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.base.bytecode.FieldAccessImplementation;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.AbstractAtomGenerator;
 import net.bytebuddy.ByteBuddy;
@@ -43,7 +44,8 @@ public class AccessFieldValue extends AbstractAtomGenerator {
 
 
         DynamicType.Builder bbBuilder = new ByteBuddy()
-                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS);
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(GeneratedNames.className(originClass, "FieldAtom", wrapperMethod, fieldDescription));
 
         bbBuilder = createConstructorSettingUpOrigin(bbBuilder, originClass);
         //bbBuilder = createResultTranslatorField(bbBuilder, resultTranslator);
@@ -58,4 +60,28 @@ public class AccessFieldValue extends AbstractAtomGenerator {
 
         return bbBuilder.make();
     }
+
+    /**
+     * Implements the wrapper method reading the origin field right in the
+     * wrapper class, without an atom object.
+     *
+     * @param bbBuilder Wrapper class builder having the origin field
+     * @param fieldNamePrefix Prefix for the translator field, unique for each wrapper method
+     * @return Wrapper class builder implementing the wrapper method
+     */
+    public <W> DynamicType.Builder<W> inline(
+            DynamicType.Builder<W> bbBuilder,
+            String fieldNamePrefix,
+            Function resultTranslator,
+            FieldDescription fieldDescription,
+            Method wrapperMethod) {
+
+        return bbBuilder
+                .define(wrapperMethod)
+                .intercept(new FieldAccessImplementation(
+                        ORIGIN_FIELD_NAME,
+                        fieldDescription,
+                        resultTranslator,
+                        fieldNamePrefix + RESULT_TRANSLATOR));
+    }
 }
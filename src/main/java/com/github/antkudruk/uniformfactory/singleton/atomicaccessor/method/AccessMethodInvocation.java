@@ -16,6 +16,7 @@
 
 package com.github.antkudruk.uniformfactory.singleton.atomicaccessor.method;
 
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
 import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.AbstractAtomGenerator;
 import net.bytebuddy.ByteBuddy;
@@ -24,10 +25,12 @@ import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
 
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.github.antkudruk.uniformfactory.singleton.atomicaccessor.Constants.METHOD_NAME;
 
@@ -60,21 +63,70 @@ public class AccessMethodInvocation extends AbstractAtomGenerator {
             List<PartialDescriptor> partialDescriptors) {
 
         DynamicType.Builder bbBuilder = new ByteBuddy()
-                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS);
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(GeneratedNames.className(originClass, "MethodAtom", wrapperMethod, originMethod));
 
         bbBuilder = createConstructorSettingUpOrigin(bbBuilder, originClass);
 
-        bbBuilder = createResultTranslatorField(bbBuilder, resultTranslator);
+        boolean passesResultThrough = passesResultThrough(
+                resultTranslator, originMethod.getReturnType().asErasure(), wrapperMethod.getReturnType());
+        if (!passesResultThrough) {
+            bbBuilder = createResultTranslatorField(bbBuilder, resultTranslator);
+        }
 
         for (PartialDescriptor it : partialDescriptors) {
             bbBuilder = it.initiate(bbBuilder);
         }
 
+        MethodCall methodCall = createMethodCall(originMethod, partialDescriptors);
         bbBuilder = bbBuilder
                 .defineMethod(METHOD_NAME, wrapperMethod.getReturnType(), Visibility.PUBLIC)
                 .withParameters(getParameterClasses(wrapperMethod.getParameters()))
-                .intercept(addResultTranslator(createMethodCall(originMethod, partialDescriptors)));
+                .intercept(passesResultThrough ? methodCall : addResultTranslator(methodCall));
 
         return bbBuilder.make();
     }
+
+    /**
+     * Implements the wrapper method invoking the origin method right in the
+     * wrapper class, without an atom object.
+     *
+     * @param bbBuilder          Wrapper class builder having the origin field
+     * @param fieldNamePrefix    Prefix for the translator fields, unique for each wrapper method
+     * @param resultTranslator   Translate origin result to wrapper result.
+     * @param originMethod       Origin method to call.
+     * @param wrapperMethod      Wrapper method to call the origin method from.
+     * @param partialDescriptors Descriptor for each method parameter
+     * @return Wrapper class builder implementing the wrapper method
+     */
+    public <W> DynamicType.Builder<W> inline(
+            DynamicType.Builder<W> bbBuilder,
+            String fieldNamePrefix,
+            Function resultTranslator,
+            MethodDescription originMethod,
+            Method wrapperMethod,
+            List<PartialDescriptor> partialDescriptors) {
+
+        String resultTranslatorFieldName = fieldNamePrefix + RESULT_TRANSLATOR;
+        List<PartialDescriptor> prefixedDescriptors = partialDescriptors.stream()
+                .map(t -> t.withFieldNamePrefix(fieldNamePrefix))
+                .collect(Collectors.toList());
+
+        boolean passesResultThrough = passesResultThrough(
+                resultTranslator, originMethod.getReturnType().asErasure(), wrapperMethod.getReturnType());
+        if (!passesResultThrough) {
+            bbBuilder = createResultTranslatorField(bbBuilder, resultTranslatorFieldName, resultTranslator);
+        }
+
+        for (PartialDescriptor it : prefixedDescriptors) {
+            bbBuilder = it.initiate(bbBuilder);
+        }
+
+        MethodCall methodCall = createMethodCall(originMethod, prefixedDescriptors);
+        return bbBuilder
+                .define(wrapperMethod)
+                .intercept(passesResultThrough
+                        ? methodCall
+                        : addResultTranslator(methodCall, resultTranslatorFieldName));
+    }
 }
@@ -18,14 +18,21 @@ package com.github.antkudruk.uniformfactory.singleton.descriptors;
 
 import com.github.antkudruk.uniformfactory.base.AbstractMethodWithMappersDescriptorImpl;
 import com.github.antkudruk.uniformfactory.base.Enhancer;
+import com.github.antkudruk.uniformfactory.base.GeneratedNames;
+import com.github.antkudruk.uniformfactory.base.MethodInterpreter;
 import com.github.antkudruk.uniformfactory.base.TypeShortcuts;
 import com.github.antkudruk.uniformfactory.base.exception.WrongTypeException;
 import com.github.antkudruk.uniformfactory.classfactory.ChildMethodDescriptionBuilderWrapper;
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.MemberSelector;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.MemberSelectorByAnnotation;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.ParameterBindersSource;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
+import com.github.antkudruk.uniformfactory.singleton.enhancers.InlineSingletonMethodToConstantEnhancer;
+import com.github.antkudruk.uniformfactory.singleton.enhancers.InlineSingletonMethodToFieldEnhancer;
+import com.github.antkudruk.uniformfactory.singleton.enhancers.InlineSingletonMethodToMethodEnhancer;
 import com.github.antkudruk.uniformfactory.singleton.enhancers.SingletonMethodToConstantEnhancer;
 import com.github.antkudruk.uniformfactory.singleton.enhancers.SingletonMethodToFieldEnhancer;
 import com.github.antkudruk.uniformfactory.singleton.enhancers.SingletonMethodToMethodEnhancer;
@@ -36,9 +43,12 @@ import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -50,14 +60,13 @@ import java.util.function.Function;
 public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescriptorImpl {
 
     private static final String FIELD_NAME_PREFIX = "singletonMethod";
-    private static final AtomicLong fieldNameIndex = new AtomicLong(0L);
 
-    private final String fieldAccessorFieldName
-            = FIELD_NAME_PREFIX + fieldNameIndex.incrementAndGet();
+    private final String fieldAccessorFieldName;
 
     protected final ResultMapperCollection<R> resultMapper;
     protected final boolean hasDefaultValue;
     protected final R defaultValue;
+    protected final boolean inline;
 
     public MethodSingletonDescriptor(
             Method wrapperMethod,
@@ -66,11 +75,25 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
             ResultMapperCollection<R> resultMapper,
             R defaultValue,
             boolean hasDefaultValue
+    ) {
+        this(wrapperMethod, memberSelector, parameterMapper, resultMapper, defaultValue, hasDefaultValue, false);
+    }
+
+    public MethodSingletonDescriptor(
+            Method wrapperMethod,
+            MemberSelector memberSelector,
+            ParameterBindersSource parameterMapper,
+            ResultMapperCollection<R> resultMapper,
+            R defaultValue,
+            boolean hasDefaultValue,
+            boolean inline
     ) {
         super(wrapperMethod, memberSelector, parameterMapper);
+        this.fieldAccessorFieldName = GeneratedNames.fieldName(FIELD_NAME_PREFIX, wrapperMethod);
         this.resultMapper = resultMapper;
         this.defaultValue = defaultValue;
         this.hasDefaultValue = hasDefaultValue;
+        this.inline = inline;
         validate();
     }
 
@@ -89,6 +112,10 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
             throw new AmbiguousMethodException(null);
         }
 
+        if (inline) {
+            return getInlineEnhancer(singletonOriginMethod, singletonOriginField);
+        }
+
         if (!singletonOriginMethod.isEmpty()) {
             MethodDescription originMethod = singletonOriginMethod.get(0);
             return new SingletonMethodToMethodEnhancer(
@@ -114,12 +141,134 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
             );
         }
 
-        throw new RuntimeException("No default value specified for method "
+        throw noDefaultValue();
+    }
+
+    private Enhancer getInlineEnhancer(
+            List<MethodDescription> singletonOriginMethod,
+            List<FieldDescription> singletonOriginField) throws ClassGeneratorException {
+
+        if (!singletonOriginMethod.isEmpty()) {
+            return new InlineSingletonMethodToMethodEnhancer(
+                    fieldAccessorFieldName,
+                    singletonOriginMethod.get(0),
+                    wrapperMethod,
+                    parameterMapper,
+                    resultMapper);
+        } else if (!singletonOriginField.isEmpty()) {
+            return new InlineSingletonMethodToFieldEnhancer(
+                    fieldAccessorFieldName,
+                    singletonOriginField.get(0),
+                    wrapperMethod,
+                    resultMapper);
+        } else if (hasDefaultValue) {
+            return new InlineSingletonMethodToConstantEnhancer<>(
+                    fieldAccessorFieldName,
+                    defaultValue,
+                    wrapperMethod);
+        }
+
+        throw noDefaultValue();
+    }
+
+    private RuntimeException noDefaultValue() {
+        return new RuntimeException("No default value specified for method "
                 + wrapperMethod.getReturnType().getSimpleName()
                 + " " + wrapperMethod.getName()
                 + ". Either default value should be specified or a member selected should provide one member.");
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Ambiguous or missing origin members aren't interpreted, so that
+     * the class generation reports them. Neither are origin methods throwing
+     * checked exceptions the wrapper method doesn't declare.
+     */
+    @Override
+    public Optional<MethodInterpreter> getInterpreter(Class<?> originClass) {
+        TypeDescription originType = TypeDescriptions.of(originClass);
+        List<MethodDescription> singletonOriginMethod = memberSelector.getMethods(originType);
+        List<FieldDescription> singletonOriginField = memberSelector.getFields(originType);
+
+        if (singletonOriginMethod.size() + singletonOriginField.size() > 1) {
+            return Optional.empty();
+        }
+
+        try {
+            if (!singletonOriginMethod.isEmpty()) {
+                return interpretMethod(originClass, singletonOriginMethod.get(0));
+            } else if (!singletonOriginField.isEmpty()) {
+                return Optional.of(interpretField(originClass, singletonOriginField.get(0)));
+            } else if (hasDefaultValue) {
+                return Optional.of((origin, arguments) -> defaultValue);
+            }
+        } catch (ClassGeneratorException | ReflectiveOperationException | RuntimeException ex) {
+            // Inaccessible members and type mismatches are left to the class generation
+        }
+        return Optional.empty();
+    }
+
+    private Optional<MethodInterpreter> interpretMethod(Class<?> originClass, MethodDescription originMethod)
+            throws ClassGeneratorException, NoSuchMethodException {
+
+        Method method = findMethod(originClass, originMethod);
+        if (throwsUndeclaredException(method)) {
+            // A proxy would wrap the exception into UndeclaredThrowableException, unlike a generated wrapper
+            return Optional.empty();
+        }
+        method.setAccessible(true);
+        List<PartialDescriptor> partialDescriptors = parameterMapper.getParameterBinders(originMethod);
+        Function<Object, R> resultTranslator = resultMapper
+                .getTranslatorOrThrow(originMethod.getReturnType().asErasure());
+
+        return Optional.of((origin, arguments) -> {
+            Object[] originArguments = new Object[partialDescriptors.size()];
+            for (PartialDescriptor partialDescriptor : partialDescriptors) {
+                originArguments[partialDescriptor.getOriginIndex()] = partialDescriptor.getValue(arguments);
+            }
+            try {
+                return resultTranslator.apply(method.invoke(origin, originArguments));
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+
+    // Whether the origin method declares a checked exception the wrapper method doesn't
+    private boolean throwsUndeclaredException(Method originMethod) {
+        for (Class<?> exceptionType : originMethod.getExceptionTypes()) {
+            if (RuntimeException.class.isAssignableFrom(exceptionType) || Error.class.isAssignableFrom(exceptionType)) {
+                continue;
+            }
+            if (Arrays.stream(getWrapperMethod().getExceptionTypes()).noneMatch(t -> t.isAssignableFrom(exceptionType))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MethodInterpreter interpretField(Class<?> originClass, FieldDescription originField)
+            throws ClassGeneratorException, NoSuchFieldException {
+
+        Field field = originClass.getDeclaredField(originField.getName());
+        field.setAccessible(true);
+        Function<Object, R> resultTranslator = resultMapper
+                .getTranslatorOrThrow(originField.getType().asErasure());
+
+        return (origin, arguments) -> resultTranslator.apply(field.get(origin));
+    }
+
+    private static Method findMethod(Class<?> originClass, MethodDescription originMethod)
+            throws NoSuchMethodException {
+        for (Method method : originClass.getDeclaredMethods()) {
+            if (originMethod.represents(method)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(originMethod.toString());
+    }
+
     private void validate() {
         if (TypeShortcuts.getBoxedType(wrapperMethod.getReturnType()) != resultMapper.getWrapperReturnType()) {
             throw new WrongTypeException(wrapperMethod.getReturnType(), resultMapper.getWrapperReturnType());
@@ -133,6 +282,7 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
 
         private boolean hasDefaultValue;
         private R defaultValue;
+        private boolean inline;
         private ResultMapperCollection<R> resultMapper;
 
         @Getter
@@ -155,7 +305,8 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
                     getParameterMapper(),
                     resultMapper,
                     defaultValue,
-                    hasDefaultValue
+                    hasDefaultValue,
+                    inline
             );
         }
 
@@ -171,6 +322,22 @@ public class MethodSingletonDescriptor<R> extends AbstractMethodWithMappersDescr
             return (T) this;
         }
 
+        /**
+         * Sets whether to implement the wrapper method right in the wrapper
+         * class. Otherwise, the wrapper method delegates to an atom object
+         * kept in a wrapper field.
+         *
+         * Inlining saves an atom class per wrapper method, and an atom
+         * object along with an indirection per wrapper.
+         *
+         * @param inline {@code true} to implement the method in the wrapper class
+         * @return This builder
+         */
+        public T setInline(boolean inline) {
+            this.inline = inline;
+            return (T) this;
+        }
+
         public <O> T addResultTranslator(Class<O> originClass, Function<O, R> translator) {
             resultMapper.addMapper(originClass, translator);
             return (T) this;
@@ -16,7 +16,10 @@
 
 package com.github.antkudruk.uniformfactory.singleton.descriptors;
 
+import com.github.antkudruk.uniformfactory.base.IdentityTranslator;
+import com.github.antkudruk.uniformfactory.base.PrimitiveWidening;
 import com.github.antkudruk.uniformfactory.base.TypeShortcuts;
+import com.github.antkudruk.uniformfactory.common.TypeDescriptions;
 import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialMapperImpl;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -38,7 +41,13 @@ import java.util.function.Function;
  * mapper, {@code WrapperMethodTypesException} exception is thrown.
  * It always has a translator for the case when <b>origin</b> return type is
  * the same as <b>wrapper</b> return type that does nothing but just returns
- * the origin result.
+ * the origin result. For numeric wrapper return types, it also has translators
+ * for the origin primitive types widened to the wrapper one, like {@code int}
+ * to {@code long}. See {@link PrimitiveWidening}. They aren't applied to the
+ * boxed origin types, like {@code Integer}, as those may be {@code null}.
+ * The generated code widens the value without boxing only if the wrapper
+ * return type is primitive too. For a boxed wrapper return type, like
+ * {@code Long}, the widening translator is called.
  * <p>
  * Keep in mind that order of adding translators matters. For example the
  * following code works logically correct
@@ -71,7 +80,8 @@ public class ResultMapperCollection<A> {
 
     public ResultMapperCollection(Class<A> wrapperResultType) {
         this(wrapperResultType, null);
-        addMapper(wrapperResultType, t -> t);
+        addMapper(wrapperResultType, IdentityTranslator.get());
+        PrimitiveWidening.to(wrapperResultType).ifPresent(this::addWidening);
     }
 
     private ResultMapperCollection(Class<A> wrapperResultType, ResultMapperCollection<A> parent) {
@@ -82,16 +92,23 @@ public class ResultMapperCollection<A> {
     public <O> ResultMapperCollection<A> addMapper(
             Class<O> originResultClass, Function<O, A> mapper) {
 
-        entries.add(0, new Entry<>(originResultClass, mapper));
+        entries.add(0, new Entry<>(originResultClass, mapper, false));
 
         return this;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void addWidening(PrimitiveWidening widening) {
+        for (Class<?> sourceType : widening.getSourceTypes()) {
+            entries.add(0, new Entry(sourceType, widening, true));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <O> Optional<Function<O, A>> getTranslator(TypeDescription originResultClass) {
         return entries
                 .stream()
-                .filter(t -> assignable(originResultClass, t.getOriginResultClass()))
+                .filter(t -> t.accepts(originResultClass))
                 .findFirst()
                 .map((Function<Entry<?>, Function<?, ?>>) Entry::getTranslator)
                 .map(t -> (Function<O, A>) t)
@@ -104,8 +121,8 @@ public class ResultMapperCollection<A> {
 
     // TODO: Add unit test coverage
     private TypeDescription box(TypeDescription td) {
-        if(td.equals(new TypeDescription.ForLoadedType(void.class))) {
-            return new TypeDescription.ForLoadedType(Void.class);
+        if(td.equals(TypeDescriptions.of(void.class))) {
+            return TypeDescriptions.of(Void.class);
         } else {
             return td.asBoxed();
         }
@@ -135,6 +152,11 @@ public class ResultMapperCollection<A> {
     private class Entry<O> {
         private final Class<O> originResultClass;
         private final Function<O, A> translator;
+        private final boolean primitiveOnly;
+
+        private boolean accepts(TypeDescription originType) {
+            return (!primitiveOnly || originType.isPrimitive()) && assignable(originType, originResultClass);
+        }
     }
 }
 
@@ -0,0 +1,41 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.singleton.enhancers;
+
+import com.github.antkudruk.uniformfactory.base.Enhancer;
+import net.bytebuddy.implementation.Implementation;
+
+/**
+ * Implements a singleton wrapper method right in the wrapper class.
+ * Unlike {@link AbstractSingletonEnhancerUsingAtom}, it defines no wrapper
+ * field and no atom class: the wrapper method accesses the origin field of
+ * the wrapper directly. Translators are kept in static fields of the wrapper
+ * class named with {@code fieldNamePrefix}.
+ */
+public abstract class AbstractInlineSingletonEnhancer implements Enhancer {
+
+    protected final String fieldNamePrefix;
+
+    protected AbstractInlineSingletonEnhancer(String fieldNamePrefix) {
+        this.fieldNamePrefix = fieldNamePrefix + "$";
+    }
+
+    @Override
+    public Implementation.Composable addInitiation(Implementation.Composable existingImplementation) {
+        return existingImplementation;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.singleton.enhancers;
+
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.constant.ReturnConstantValue;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.lang.reflect.Method;
+
+public class InlineSingletonMethodToConstantEnhancer<C> extends AbstractInlineSingletonEnhancer {
+
+    private final C constant;
+    private final Method wrapperMethod;
+
+    public InlineSingletonMethodToConstantEnhancer(
+            String fieldNamePrefix,
+            C constant,
+            Method wrapperMethod) {
+        super(fieldNamePrefix);
+        this.constant = constant;
+        this.wrapperMethod = wrapperMethod;
+    }
+
+    @Override
+    public <W> DynamicType.Builder<W> addMethod(DynamicType.Builder<W> bbBuilder) {
+        return ReturnConstantValue.INSTANCE.inline(bbBuilder, constant, wrapperMethod);
+    }
+}
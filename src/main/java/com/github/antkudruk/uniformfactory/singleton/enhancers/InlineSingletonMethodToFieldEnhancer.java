@@ -0,0 +1,54 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.singleton.enhancers;
+
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.field.AccessFieldValue;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.ResultMapperCollection;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.WrapperMethodTypesException;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+public class InlineSingletonMethodToFieldEnhancer extends AbstractInlineSingletonEnhancer {
+
+    private final FieldDescription originField;
+    private final Method wrapperMethod;
+    private final Function resultTranslator;
+
+    public InlineSingletonMethodToFieldEnhancer(
+            String fieldNamePrefix,
+            FieldDescription originField,
+            Method wrapperMethod,
+            ResultMapperCollection resultMapper) throws WrapperMethodTypesException {
+        super(fieldNamePrefix);
+        this.originField = originField;
+        this.wrapperMethod = wrapperMethod;
+        this.resultTranslator = resultMapper.getTranslatorOrThrow(originField.getType().asErasure());
+    }
+
+    @Override
+    public <W> DynamicType.Builder<W> addMethod(DynamicType.Builder<W> bbBuilder) {
+        return AccessFieldValue.INSTANCE.inline(
+                bbBuilder,
+                fieldNamePrefix,
+                resultTranslator,
+                originField,
+                wrapperMethod);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+    Copyright 2020 - Present Anton Kudruk
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.github.antkudruk.uniformfactory.singleton.enhancers;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.ParameterBindersSource;
+import com.github.antkudruk.uniformfactory.singleton.argument.partialbinding.PartialDescriptor;
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.method.AccessMethodInvocation;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.ResultMapperCollection;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+public class InlineSingletonMethodToMethodEnhancer extends AbstractInlineSingletonEnhancer {
+
+    private final MethodDescription originMethod;
+    private final Method wrapperMethod;
+    private final List<PartialDescriptor> partialDescriptors;
+    private final Function resultTranslator;
+
+    public InlineSingletonMethodToMethodEnhancer(
+            String fieldNamePrefix,
+            MethodDescription originMethod,
+            Method wrapperMethod,
+            ParameterBindersSource partialParameterUnion,
+            ResultMapperCollection resultMapper) throws ClassGeneratorException {
+        super(fieldNamePrefix);
+        this.originMethod = originMethod;
+        this.wrapperMethod = wrapperMethod;
+        this.partialDescriptors = partialParameterUnion.getParameterBinders(originMethod);
+        this.resultTranslator = resultMapper.getTranslatorOrThrow(originMethod.getReturnType().asErasure());
+    }
+
+    @Override
+    public <W> DynamicType.Builder<W> addMethod(DynamicType.Builder<W> bbBuilder) {
+        return AccessMethodInvocation.INSTANCE.inline(
+                bbBuilder,
+                fieldNamePrefix,
+                resultTranslator,
+                originMethod,
+                wrapperMethod,
+                partialDescriptors);
+    }
+}
@@ -8,7 +8,13 @@ import net.bytebuddy.matcher.ElementMatchers;
 import org.junit.Test;
 import org.powermock.reflect.Whitebox;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 public class FieldAccessImplementationTest {
 
@@ -138,4 +144,30 @@ public class FieldAccessImplementationTest {
         Whitebox.setInternalState(wrapper, ORIGIN_FIELD, originClass.getConstructor().newInstance());
         assertEquals(expectedResult, (long)Whitebox.invokeMethod(wrapper, METHOD_NAME));
     }
+
+    @Test
+    public void givenPrivateField_whenGenerate_thenStaticFinalFieldHandle() throws Exception {
+        // given
+        TypeDescription originTypeDescription = new TypeDescription.ForLoadedType(OriginImpl.class);
+
+        // when
+        Class<?> wrapperClass = new ByteBuddy()
+                .subclass(Object.class)
+                .defineField(ORIGIN_FIELD, OriginImpl.class, Opcodes.ACC_PRIVATE)
+                .defineMethod(METHOD_NAME, long.class, Opcodes.ACC_PUBLIC)
+                .intercept(new FieldAccessImplementation(ORIGIN_FIELD,
+                        TypeDescriptionShortcuts.deepFindField(originTypeDescription, "privatePrimitive")
+                                .orElseThrow(RuntimeException::new),
+                        t -> t
+                ))
+                .make()
+                .load(getClass().getClassLoader())
+                .getLoaded();
+
+        // then
+        assertTrue(Arrays.stream(wrapperClass.getDeclaredFields())
+                .filter(t -> t.getType() == MethodHandle.class)
+                .map(Field::getModifiers)
+                .anyMatch(t -> Modifier.isStatic(t) && Modifier.isFinal(t)));
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.antkudruk.uniformfactory.base.bytecode;
 
+import com.github.antkudruk.uniformfactory.common.TypeDescriptionShortcuts;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.modifier.Visibility;
@@ -8,7 +9,6 @@ import net.bytebuddy.implementation.FieldAccessor;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.jar.asm.Opcodes;
-import net.bytebuddy.matcher.ElementMatchers;
 import org.junit.Test;
 import org.powermock.reflect.Whitebox;
 
@@ -34,6 +34,11 @@ public class PureSetterImplementationTest {
         public Integer publicIntegerValue;
 
         private Integer privateIntegerValue;
+
+        private long privateLongValue;
+    }
+
+    public static class OriginDerived extends OriginImpl {
     }
 
     @Test
@@ -66,13 +71,71 @@ public class PureSetterImplementationTest {
         givenField_whenSet_applyParameter("privateIntValue", Integer.class, 13);
     }
 
+    @Test
+    public void givenPrivateIntField_whenSetPrimitive_applyParameter() throws Exception {
+        givenField_whenSet_applyParameter("privateIntValue", int.class, 13);
+    }
+
+    @Test
+    public void givenPrivateLongField_whenSetPrimitive_applyParameter() throws Exception {
+        givenField_whenSet_applyParameter("privateLongValue", long.class, 13L);
+    }
+
+    @Test
+    public void givenInheritedPrivateStringField_whenSet_applyParameter() throws Exception {
+        givenField_whenSet_applyParameter(OriginDerived.class, "privateStringField", String.class, "value");
+    }
+
+    @Test
+    public void givenInheritedPrivateIntField_whenSetPrimitive_applyParameter() throws Exception {
+        givenField_whenSet_applyParameter(OriginDerived.class, "privateIntValue", int.class, 13);
+    }
+
+    @Test
+    public void givenSettersOfPrivateFields_whenSet_applyParameters() throws Exception {
+        // Given
+        FieldDescription stringField = findField(OriginImpl.class, "privateStringField");
+        FieldDescription intField = findField(OriginImpl.class, "privateIntValue");
+
+        // When
+        Class<?> wrapper = new ByteBuddy().subclass(Object.class)
+                .defineField(ORIGIN_FIELD, OriginImpl.class, Opcodes.ACC_PRIVATE)
+                .defineMethod("setString", void.class, Opcodes.ACC_PUBLIC)
+                .withParameters(String.class)
+                .intercept(new PureSetterImplementation(ORIGIN_FIELD, stringField))
+                .defineMethod("setInt", void.class, Opcodes.ACC_PUBLIC)
+                .withParameters(int.class)
+                .intercept(new PureSetterImplementation(ORIGIN_FIELD, intField))
+                .defineMethod("setBoxedInt", void.class, Opcodes.ACC_PUBLIC)
+                .withParameters(Integer.class)
+                .intercept(new PureSetterImplementation(ORIGIN_FIELD, intField))
+                .make()
+                .load(getClass().getClassLoader())
+                .getLoaded();
+
+        OriginImpl origin = new OriginImpl();
+        Object o = wrapper.getConstructor().newInstance();
+        Whitebox.setInternalState(o, ORIGIN_FIELD, origin);
+
+        // Then
+        Whitebox.invokeMethod(o, "setString", "value");
+        assertEquals("value", Whitebox.getInternalState(origin, "privateStringField"));
+        Whitebox.invokeMethod(o, "setInt", 13);
+        assertEquals(13, (int) Whitebox.getInternalState(origin, "privateIntValue"));
+        Whitebox.invokeMethod(o, "setBoxedInt", 14);
+        assertEquals(14, (int) Whitebox.getInternalState(origin, "privateIntValue"));
+    }
 
     private void givenField_whenSet_applyParameter(String fieldName, Class<?> argumentType, Object value) throws Exception {
+        givenField_whenSet_applyParameter(OriginImpl.class, fieldName, argumentType, value);
+    }
+
+    private void givenField_whenSet_applyParameter(Class<? extends OriginImpl> originClass,
+                                                   String fieldName,
+                                                   Class<?> argumentType,
+                                                   Object value) throws Exception {
         // Given
-        FieldDescription.InDefinedShape valueField = new TypeDescription.ForLoadedType(OriginImpl.class)
-                .getDeclaredFields()
-                .filter(ElementMatchers.named(fieldName))
-                .getOnly();
+        FieldDescription valueField = findField(originClass, fieldName);
 
         // When
         Implementation implementation = new PureSetterImplementation(ORIGIN_FIELD, valueField);
@@ -80,10 +143,10 @@ public class PureSetterImplementationTest {
         ByteBuddy byteBuddy = new ByteBuddy();
         Class<?> wrapper = byteBuddy.subclass(Object.class)
                 .defineConstructor(Visibility.PUBLIC)
-                .withParameters(OriginImpl.class)
+                .withParameters(originClass)
                 .intercept(MethodCall.invoke(findConstructor(Object.class).orElseThrow(RuntimeException::new))
                         .andThen(FieldAccessor.ofField(ORIGIN_FIELD).setsArgumentAt(0)))
-                .defineField(ORIGIN_FIELD, OriginImpl.class, Opcodes.ACC_PRIVATE)
+                .defineField(ORIGIN_FIELD, originClass, Opcodes.ACC_PRIVATE)
                 .defineMethod(METHOD_NAME, void.class, Opcodes.ACC_PUBLIC)
                 .withParameters(argumentType)
                 .intercept(implementation)
@@ -91,11 +154,16 @@ public class PureSetterImplementationTest {
                 .load(getClass().getClassLoader())
                 .getLoaded();
 
-        OriginImpl origin = new OriginImpl();
-        Object o = wrapper.getConstructor(OriginImpl.class).newInstance(origin);
+        OriginImpl origin = originClass.getConstructor().newInstance();
+        Object o = wrapper.getConstructor(originClass).newInstance(origin);
 
         // Then
         Whitebox.invokeMethod(o, METHOD_NAME, value);
         assertEquals(value, Whitebox.getInternalState(Whitebox.getInternalState(o, ORIGIN_FIELD), fieldName));
     }
+
+    private static FieldDescription findField(Class<?> originClass, String fieldName) {
+        return TypeDescriptionShortcuts.deepFindField(new TypeDescription.ForLoadedType(originClass), fieldName)
+                .orElseThrow(RuntimeException::new);
+    }
 }
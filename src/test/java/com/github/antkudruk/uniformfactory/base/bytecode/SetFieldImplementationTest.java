@@ -37,6 +37,10 @@ public class SetFieldImplementationTest {
     public static class OriginDerived extends OriginImpl {
     }
 
+    @SuppressWarnings("WeakerAccess")
+    public static class OriginWithIntDerived extends OriginWithIntImpl {
+    }
+
     @Test
     public void testPublic() throws Exception {
         testPublisAndPrivate(OriginImpl.class, "publicField", "10");
@@ -139,6 +143,11 @@ public class SetFieldImplementationTest {
         testBoxedAndUnboxed(OriginWithIntImpl.class, "unboxedPrivateField", 10);
     }
 
+    @Test
+    public void testSuperPrivateIntegerUnboxed() throws Exception {
+        testBoxedAndUnboxed(OriginWithIntDerived.class, "unboxedPrivateField", 10);
+    }
+
     @SuppressWarnings("unchecked")
     private void testBoxedAndUnboxed(Class originClass, String fieldName, Object expectedResult) throws Exception {
 
@@ -0,0 +1,283 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Files;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClassCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    @interface Name {
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    @interface Describe {
+
+    }
+
+    public interface Wrapper {
+        String getName();
+        String describe();
+    }
+
+    public static class Origin {
+
+        @Name
+        private final String name = "origin";
+
+        @Describe
+        public Integer describe() {
+            return 7;
+        }
+    }
+
+    private static class Prefix implements Serializable {
+        private final String value = "#";
+    }
+
+    @Test
+    public void givenClassCache_whenBuildTwice_thenDefinedFromCache() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        Path directory = folder.getRoot().toPath();
+        createClassFactory(directory, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+
+        RecordingClassCache classCache = new RecordingClassCache(new DirectoryClassCache(directory));
+
+        // when
+        Function<Origin, Wrapper> classContainer = createClassFactory(
+                classCache, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertTrue(classCache.isDefinedFromCache());
+        Wrapper wrapper = classContainer.apply(new Origin());
+        assertEquals("origin", wrapper.getName());
+        assertEquals("#7", wrapper.describe());
+    }
+
+    @Test
+    public void givenCorruptedEntry_whenBuild_thenRegenerated() throws ReflectiveOperationException, ClassGeneratorException, IOException {
+        // given
+        Path directory = folder.getRoot().toPath();
+        createClassFactory(directory, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+        Path entry = listFiles(directory)[0];
+        Files.write(entry, new byte[]{1, 2, 3});
+        RecordingClassCache classCache = new RecordingClassCache(new DirectoryClassCache(directory));
+
+        // when
+        Function<Origin, Wrapper> classContainer = createClassFactory(
+                classCache, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertFalse(classCache.isDefinedFromCache());
+        assertEquals("#7", classContainer.apply(new Origin()).describe());
+        assertTrue(new DirectoryClassCache(directory)
+                .load(entry.getFileName().toString().replace(".classes", ""))
+                .isPresent());
+    }
+
+    @Test
+    public void givenNotSerializableTranslator_whenBuild_thenNotCached() throws ReflectiveOperationException, ClassGeneratorException, IOException {
+        // given
+        Path directory = folder.getRoot().toPath();
+
+        // when
+        createClassFactory(directory, t -> "#" + t).buildWrapperFactory(Origin.class);
+
+        // then
+        assertEquals(0, listFiles(directory).length);
+    }
+
+    @Test
+    public void givenTranslatorCapturingSerializableObject_whenBuild_thenNotCached() throws ReflectiveOperationException, ClassGeneratorException, IOException {
+        // given
+        Path directory = folder.getRoot().toPath();
+        Prefix prefix = new Prefix();
+
+        // when
+        Function<Origin, Wrapper> classContainer = createClassFactory(
+                directory, (Function<Integer, String> & Serializable) t -> prefix.value + t)
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertEquals(0, listFiles(directory).length);
+        assertEquals("#7", classContainer.apply(new Origin()).describe());
+    }
+
+    @Test
+    public void givenPrecompiledClasses_whenBuild_thenDefinedFromClasspath() throws ReflectiveOperationException, ClassGeneratorException, IOException {
+        // given
+        Path output = folder.getRoot().toPath();
+        List<Class<?>> skipped = new WrapperPrecompiler(output).precompile(
+                createClassFactory(
+                        new ClasspathClassCache(getClass().getClassLoader()),
+                        (Function<Integer, String> & Serializable) t -> "#" + t),
+                Collections.singletonList(Origin.class));
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, null);
+        RecordingClassCache classCache = new RecordingClassCache(new ClasspathClassCache(classLoader));
+
+        // when
+        Function<Origin, Wrapper> classContainer = createClassFactory(
+                classCache,
+                (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertTrue(skipped.isEmpty());
+        assertTrue(classCache.isDefinedFromCache());
+        assertEquals("#7", classContainer.apply(new Origin()).describe());
+    }
+
+    @Test
+    public void givenLookupStrategy_whenBuildTwice_thenDefinedFromCacheNextToOrigin() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        Path directory = folder.getRoot().toPath();
+        createClassFactory(directory, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .buildWrapperFactory(Origin.class);
+        RecordingClassCache classCache = new RecordingClassCache(new DirectoryClassCache(directory));
+
+        // when
+        Function<Origin, Wrapper> classContainer = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getName"), String.class)
+                .setMarkerAnnotation(Name.class)
+                .endMethodDescription()
+                .addMethodSingleton(Wrapper.class.getMethod("describe"), String.class)
+                .setMarkerAnnotation(Describe.class)
+                .addResultTranslator(Integer.class, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .endMethodDescription()
+                .setClassCache(classCache, "1")
+                .setClassLoadingStrategy(LookupClassLoadingStrategy.INSTANCE)
+                .build()
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertTrue(classCache.isDefinedFromCache());
+        assertSame(Origin.class.getClassLoader(), classContainer.getClass().getClassLoader());
+        assertEquals("#7", classContainer.apply(new Origin()).describe());
+    }
+
+    @Test
+    public void givenPackageAccessDenied_whenBuildTwice_thenFallbackDefinedFromCache() throws ReflectiveOperationException, ClassGeneratorException, IOException {
+        // given
+        Path directory = folder.getRoot().toPath();
+        createPackageAccessClassFactory(new DirectoryClassCache(directory)).buildWrapperFactory(Origin.class);
+        RecordingClassCache classCache = new RecordingClassCache(new DirectoryClassCache(directory));
+
+        // when
+        Function<Origin, Wrapper> classContainer = createPackageAccessClassFactory(classCache)
+                .buildWrapperFactory(Origin.class);
+
+        // then
+        assertTrue(classCache.isDefinedFromCache());
+        assertEquals(1, listFiles(directory).length);
+        assertEquals("origin", classContainer.apply(new Origin()).getName());
+    }
+
+    private static ClassFactory<Wrapper> createPackageAccessClassFactory(ClassCache classCache)
+            throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getName"), String.class)
+                .setMarkerAnnotation(Name.class)
+                .endMethodDescription()
+                .addMethodSingleton(Wrapper.class.getMethod("describe"), String.class)
+                .setMarkerAnnotation(Describe.class)
+                .addResultTranslator(Integer.class, (Function<Integer, String> & Serializable) t -> "#" + t)
+                .endMethodDescription()
+                .setClassCache(classCache, "1")
+                .setClassLoadingStrategy(ChildClassLoaderStrategy.INSTANCE)
+                .setPackageAccess(true)
+                .build();
+    }
+
+    private static Path[] listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toArray(Path[]::new);
+        }
+    }
+
+    private static ClassFactory<Wrapper> createClassFactory(
+            Path directory,
+            Function<Integer, String> describeTranslator) throws ReflectiveOperationException {
+        return createClassFactory(new DirectoryClassCache(directory), describeTranslator);
+    }
+
+    private static ClassFactory<Wrapper> createClassFactory(
+            ClassCache classCache,
+            Function<Integer, String> describeTranslator) throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getName"), String.class)
+                .setMarkerAnnotation(Name.class)
+                .endMethodDescription()
+                .addMethodSingleton(Wrapper.class.getMethod("describe"), String.class)
+                .setMarkerAnnotation(Describe.class)
+                .addResultTranslator(Integer.class, describeTranslator)
+                .endMethodDescription()
+                .setClassCache(classCache, "1")
+                .build();
+    }
+
+    private static final class RecordingClassCache implements ClassCache {
+
+        private final ClassCache classCache;
+        private boolean loaded;
+        private boolean stored;
+
+        private RecordingClassCache(ClassCache classCache) {
+            this.classCache = classCache;
+        }
+
+        @Override
+        public Optional<CachedTypes> load(String key) {
+            Optional<CachedTypes> result = classCache.load(key);
+            loaded |= result.isPresent();
+            return result;
+        }
+
+        @Override
+        public void store(String key, CachedTypes types) {
+            stored = true;
+            classCache.store(key, types);
+        }
+
+        @Override
+        public void invalidate(String key) {
+            loaded = false;
+            classCache.invalidate(key);
+        }
+
+        private boolean isDefinedFromCache() {
+            return loaded && !stored;
+        }
+    }
+}
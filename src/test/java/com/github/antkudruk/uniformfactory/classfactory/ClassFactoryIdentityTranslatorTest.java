@@ -0,0 +1,156 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.argument.filters.filtertypes.AnyParameterFilter;
+import com.github.antkudruk.uniformfactory.singleton.atomicaccessor.CrossLoadersFunctionAdapter;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClassFactoryIdentityTranslatorTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Name {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Title {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Count {
+    }
+
+    public interface Wrapper {
+        String getName(Integer number);
+
+        CharSequence getTitle();
+
+        int getCount(Long delta);
+    }
+
+    @SuppressWarnings("unused")
+    public static class Origin {
+        @Title
+        private String title = "Title";
+
+        @Name
+        public String getName(Integer number) {
+            return "Name " + number;
+        }
+
+        @Count
+        public Integer getCount(Number delta) {
+            return 10 + delta.intValue();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class OriginWithIntParameter {
+        @Title
+        private String title = "Title";
+
+        @Name
+        public String getName(Integer number) {
+            return "Name " + number;
+        }
+
+        @Count
+        public Integer getCount(int delta) {
+            return delta;
+        }
+    }
+
+    @Test
+    public void givenIdentityTranslators_whenBuild_thenNoTranslatorFields()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory();
+
+        // when
+        Class<? extends Wrapper> wrapperClass = classFactory
+                .build(new TypeDescription.ForLoadedType(Origin.class))
+                .load(getClass().getClassLoader())
+                .getLoaded();
+        Wrapper wrapper = wrapperClass.getConstructor(Origin.class).newInstance(new Origin());
+
+        // then
+        assertEquals("Name 1", wrapper.getName(1));
+        assertEquals("Title", wrapper.getTitle());
+        assertEquals(15, wrapper.getCount(5L));
+        assertEquals(0, Arrays.stream(wrapperClass.getDeclaredFields())
+                .filter(t -> Modifier.isStatic(t.getModifiers()))
+                .filter(t -> t.getType() == CrossLoadersFunctionAdapter.class || t.getType() == Function.class)
+                .count());
+    }
+
+    @Test
+    public void givenIdentityTranslators_whenBuildWrapperFactory_thenWrapperDelegates()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory();
+
+        // when
+        Wrapper wrapper = classFactory.buildWrapperFactory(Origin.class).apply(new Origin());
+
+        // then
+        assertEquals("Name 1", wrapper.getName(1));
+        assertEquals("Title", wrapper.getTitle());
+        assertEquals(15, wrapper.getCount(5L));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void givenInappropriateParameter_whenInvoke_thenClassCastException()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory();
+        Wrapper wrapper = classFactory
+                .buildWrapperFactory(OriginWithIntParameter.class)
+                .apply(new OriginWithIntParameter());
+
+        // when
+        wrapper.getCount(5L);
+    }
+
+    private ClassFactory<Wrapper> createClassFactory() throws NoSuchMethodException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getName", Integer.class),
+                        String.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Name.class)
+                        .parameterSource(Integer.class, 0)
+                        .applyToTyped(Integer.class)
+                        .finishParameterDescription()
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getTitle"),
+                        CharSequence.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Title.class)
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getCount", Long.class),
+                        int.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Count.class)
+                        .parameterSource(Long.class, 0)
+                        .applyTo(new AnyParameterFilter())
+                        .finishParameterDescription()
+                        .build())
+                .build();
+    }
+}
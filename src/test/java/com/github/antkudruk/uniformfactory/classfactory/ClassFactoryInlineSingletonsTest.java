@@ -0,0 +1,125 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClassFactoryInlineSingletonsTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Identity {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Name {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Scale {
+    }
+
+    public interface Wrapper {
+        String getIdentity(String scale);
+
+        String getName();
+
+        String getTitle();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Origin {
+        @Name
+        private Long name = 20L;
+
+        @Identity
+        public Long getId(@Scale Long scale) {
+            return 10L * scale;
+        }
+    }
+
+    @Test
+    public void givenInline_whenBuild_thenWrapperHasOriginFieldOnly()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory();
+
+        // when
+        DynamicType.Unloaded<Wrapper> wrapperType = classFactory
+                .build(new TypeDescription.ForLoadedType(Origin.class));
+        Class<? extends Wrapper> wrapperClass = wrapperType
+                .load(getClass().getClassLoader())
+                .getLoaded();
+        Wrapper wrapper = wrapperClass.getConstructor(Origin.class).newInstance(new Origin());
+
+        // then
+        assertEquals("30", wrapper.getIdentity("3"));
+        assertEquals("20", wrapper.getName());
+        assertEquals("Default", wrapper.getTitle());
+        assertEquals(1, Arrays.stream(wrapperClass.getDeclaredFields())
+                .map(Field::getModifiers)
+                .filter(t -> !Modifier.isStatic(t))
+                .count());
+        assertTrue(wrapperType.getAuxiliaryTypes().isEmpty());
+    }
+
+    @Test
+    public void givenInline_whenBuildWrapperFactory_thenWrapperDelegates()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory();
+
+        // when
+        Wrapper wrapper = classFactory.buildWrapperFactory(Origin.class).apply(new Origin());
+
+        // then
+        assertEquals("50", wrapper.getIdentity("5"));
+        assertEquals("20", wrapper.getName());
+        assertEquals("Default", wrapper.getTitle());
+    }
+
+    private ClassFactory<Wrapper> createClassFactory() throws NoSuchMethodException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getIdentity", String.class),
+                        String.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Identity.class)
+                        .addResultTranslator(Long.class, Object::toString)
+                        .parameterSource(String.class, 0)
+                        .applyToAnnotated(Scale.class)
+                        .addTranslator(Long.class, Long::parseLong)
+                        .finishParameterDescription()
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getName"),
+                        String.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Name.class)
+                        .addResultTranslator(Long.class, Object::toString)
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getTitle"),
+                        String.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Scale.class)
+                        .setDefaultValue("Default")
+                        .build())
+                .build();
+    }
+}
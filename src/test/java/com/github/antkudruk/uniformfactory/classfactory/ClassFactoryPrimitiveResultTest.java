@@ -0,0 +1,118 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClassFactoryPrimitiveResultTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Height {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Width {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Depth {
+    }
+
+    public interface Wrapper {
+        int getHeight();
+
+        long getWidth();
+
+        Double getDepth();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Origin {
+        @Width
+        private char width = 'A';
+
+        @Depth
+        private float depth = 1.5F;
+
+        @Height
+        public int getHeight() {
+            return 10;
+        }
+    }
+
+    @Test
+    public void givenPrimitiveResults_whenBuildWrapperFactory_thenValuesWidened()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory(false);
+
+        // when
+        Wrapper wrapper = classFactory.buildWrapperFactory(Origin.class).apply(new Origin());
+
+        // then
+        assertEquals(10, wrapper.getHeight());
+        assertEquals(65L, wrapper.getWidth());
+        assertEquals(Double.valueOf(1.5), wrapper.getDepth());
+    }
+
+    @Test
+    public void givenInlinePrimitiveResults_whenBuild_thenNoResultTranslators()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = createClassFactory(true);
+
+        // when
+        Class<? extends Wrapper> wrapperClass = classFactory
+                .build(new TypeDescription.ForLoadedType(Origin.class))
+                .load(getClass().getClassLoader())
+                .getLoaded();
+        Wrapper wrapper = wrapperClass.getConstructor(Origin.class).newInstance(new Origin());
+
+        // then
+        assertEquals(10, wrapper.getHeight());
+        assertEquals(65L, wrapper.getWidth());
+        assertEquals(Double.valueOf(1.5), wrapper.getDepth());
+        assertEquals(0, Arrays.stream(wrapperClass.getDeclaredFields())
+                .filter(t -> Modifier.isStatic(t.getModifiers()))
+                .map(Field::getName)
+                .filter(t -> t.endsWith("RESULT_TRANSLATOR"))
+                .count());
+    }
+
+    private ClassFactory<Wrapper> createClassFactory(boolean inline) throws NoSuchMethodException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getHeight"),
+                        int.class)
+                        .setInline(inline)
+                        .setMarkerAnnotation(Height.class)
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getWidth"),
+                        long.class)
+                        .setInline(inline)
+                        .setMarkerAnnotation(Width.class)
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getDepth"),
+                        Double.class)
+                        .setInline(inline)
+                        .setMarkerAnnotation(Depth.class)
+                        .build())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.antkudruk.uniformfactory.classfactory;
 
+import com.github.antkudruk.uniformfactory.container.WrapperFactory;
 import com.github.antkudruk.uniformfactory.exception.AlienMethodException;
 import org.junit.Test;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
@@ -7,6 +8,8 @@ import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
+import static org.junit.Assert.assertSame;
+
 @SuppressWarnings("unused")
 public class ClassFactoryTest {
 
@@ -57,6 +60,20 @@ public class ClassFactoryTest {
                 .build();
     }
 
+    @Test
+    public void givenClassFactory_whenBuildWrapperFactoryTwice_thenSameInstance() {
+        // given
+        ClassFactory<WrapperWithOrigin> classFactory = new ClassFactory.Builder<>(WrapperWithOrigin.class)
+                .build();
+
+        // when
+        WrapperFactory<WrapperWithOrigin> first = classFactory.buildWrapperFactory();
+        WrapperFactory<WrapperWithOrigin> second = classFactory.buildWrapperFactory();
+
+        // then
+        assertSame(first, second);
+    }
+
     @Test
     public void givenOriginMethod_whenNew_thenOk() throws ReflectiveOperationException {
         new ClassFactory.Builder<>(Wrapper.class)
@@ -0,0 +1,69 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LookupClassLoadingStrategyTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Marker {
+
+    }
+
+    public interface Wrapper {
+        String getIdentity();
+    }
+
+    public static class Origin {
+        @SuppressWarnings("unused")
+        @Marker
+        private final Long id = 20L;
+    }
+
+    @Test
+    public void givenLookupStrategy_whenBuild_thenDefinedInOriginClassLoader() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = getClassFactory();
+
+        // when
+        Function<Origin, Wrapper> classContainer = classFactory.buildWrapperFactory(Origin.class);
+
+        // then
+        assertSame(Origin.class.getClassLoader(), classContainer.getClass().getClassLoader());
+        assertEquals("20", classContainer.apply(new Origin()).getIdentity());
+    }
+
+    @Test
+    public void givenDefinedTypes_whenBuildAgain_thenFallback() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        getClassFactory().buildWrapperFactory(Origin.class);
+
+        // when
+        Function<Origin, Wrapper> classContainer = getClassFactory().buildWrapperFactory(Origin.class);
+
+        // then
+        assertNotSame(Origin.class.getClassLoader(), classContainer.getClass().getClassLoader());
+        assertEquals("20", classContainer.apply(new Origin()).getIdentity());
+    }
+
+    private static ClassFactory<Wrapper> getClassFactory() throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getIdentity"), String.class)
+                .setMarkerAnnotation(Marker.class)
+                .addResultTranslator(Long.class, Object::toString)
+                .endMethodDescription()
+                .setClassLoadingStrategy(LookupClassLoadingStrategy.INSTANCE)
+                .build();
+    }
+}
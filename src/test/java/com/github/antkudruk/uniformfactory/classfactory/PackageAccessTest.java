@@ -0,0 +1,113 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PackageAccessTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Marker {
+
+    }
+
+    public interface Wrapper {
+        String getIdentity();
+    }
+
+    public static class Origin {
+        @SuppressWarnings("unused")
+        @Marker
+        Long id = 20L;
+    }
+
+    public static class DefinedOrigin {
+        @SuppressWarnings("unused")
+        @Marker
+        Long id = 30L;
+    }
+
+    public static class ChildLoaderOrigin {
+        @SuppressWarnings("unused")
+        @Marker
+        Long id = 40L;
+    }
+
+    @Test
+    public void givenPackageAccess_whenBuild_thenReadsFieldDirectly() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = getClassFactory(LookupClassLoadingStrategy.INSTANCE);
+
+        // when
+        Function<Origin, Wrapper> classContainer = classFactory.buildWrapperFactory(Origin.class);
+        Wrapper wrapper = classContainer.apply(new Origin());
+
+        // then
+        assertSame(Origin.class.getClassLoader(), classContainer.getClass().getClassLoader());
+        assertEquals("20", wrapper.getIdentity());
+        assertFalse(hasFieldHandle(wrapper.getClass()));
+    }
+
+    @Test
+    public void givenDefinedTypes_whenBuildAgain_thenFallback() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        getClassFactory(LookupClassLoadingStrategy.INSTANCE).buildWrapperFactory(DefinedOrigin.class);
+
+        // when
+        Function<DefinedOrigin, Wrapper> classContainer = getClassFactory(LookupClassLoadingStrategy.INSTANCE)
+                .buildWrapperFactory(DefinedOrigin.class);
+        Wrapper wrapper = classContainer.apply(new DefinedOrigin());
+
+        // then
+        assertNotSame(DefinedOrigin.class.getClassLoader(), classContainer.getClass().getClassLoader());
+        assertEquals("30", wrapper.getIdentity());
+        assertTrue(hasFieldHandle(wrapper.getClass()));
+    }
+
+    @Test
+    public void givenChildLoaderStrategy_whenBuild_thenFallback() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = getClassFactory(ChildClassLoaderStrategy.INSTANCE);
+
+        // when
+        Wrapper wrapper = classFactory.buildWrapperFactory(ChildLoaderOrigin.class).apply(new ChildLoaderOrigin());
+
+        // then
+        assertEquals("40", wrapper.getIdentity());
+        assertTrue(hasFieldHandle(wrapper.getClass()));
+    }
+
+    private static boolean hasFieldHandle(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields()).anyMatch(t -> t.getType() == MethodHandle.class);
+    }
+
+    private static ClassFactory<Wrapper> getClassFactory(WrapperClassLoadingStrategy classLoadingStrategy)
+            throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getIdentity"),
+                        String.class)
+                        .setInline(true)
+                        .setMarkerAnnotation(Marker.class)
+                        .addResultTranslator(Long.class, Object::toString)
+                        .build())
+                .setClassLoadingStrategy(classLoadingStrategy)
+                .setPackageAccess(true)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SharedClassLoaderStrategyTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Marker {
+
+    }
+
+    public interface Wrapper {
+        String getIdentity();
+    }
+
+    public static class FirstOrigin {
+        @SuppressWarnings("unused")
+        @Marker
+        private final Long id = 10L;
+    }
+
+    public static class SecondOrigin {
+        @SuppressWarnings("unused")
+        @Marker
+        public Long getId() {
+            return 20L;
+        }
+    }
+
+    @Test
+    public void givenSharedStrategy_whenBuildForTwoOrigins_thenSingleClassLoader() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = getClassFactory(new SharedClassLoaderStrategy());
+
+        // when
+        Function<FirstOrigin, Wrapper> first = classFactory.buildWrapperFactory(FirstOrigin.class);
+        Function<SecondOrigin, Wrapper> second = classFactory.buildWrapperFactory(SecondOrigin.class);
+
+        // then
+        assertSame(first.getClass().getClassLoader(), second.getClass().getClassLoader());
+        assertEquals("10", first.apply(new FirstOrigin()).getIdentity());
+        assertEquals("20", second.apply(new SecondOrigin()).getIdentity());
+    }
+
+    @Test
+    public void givenDefinedTypes_whenBuildAgain_thenFallback() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = getClassFactory(new SharedClassLoaderStrategy());
+        Function<FirstOrigin, Wrapper> first = classFactory.buildWrapperFactory(FirstOrigin.class);
+
+        // when
+        Function<FirstOrigin, Wrapper> again = classFactory.buildWrapperFactory(FirstOrigin.class);
+
+        // then
+        assertNotSame(first.getClass().getClassLoader(), again.getClass().getClassLoader());
+        assertEquals("10", again.apply(new FirstOrigin()).getIdentity());
+    }
+
+    private static ClassFactory<Wrapper> getClassFactory(
+            WrapperClassLoadingStrategy classLoadingStrategy) throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodSingleton(Wrapper.class.getMethod("getIdentity"), String.class)
+                .setMarkerAnnotation(Marker.class)
+                .addResultTranslator(Long.class, Object::toString)
+                .endMethodDescription()
+                .setClassLoadingStrategy(classLoadingStrategy)
+                .build();
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.antkudruk.uniformfactory.classfactory;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.singleton.descriptors.MethodSingletonDescriptor;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TieredClassContainerTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    @interface Concat {
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    @interface Name {
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    @interface First {
+
+    }
+
+    public interface Wrapper {
+        String concat(String first, Long second);
+        String getName();
+        Object getOrigin();
+    }
+
+    public static class Origin {
+
+        @Name
+        private final String name = "origin";
+
+        @Concat
+        public String concat(@First Long first, String second) {
+            return first + " " + second;
+        }
+    }
+
+    public interface FailingWrapper {
+        String getName() throws IOException;
+    }
+
+    public static class FailingOrigin {
+
+        @Name
+        public String getName() throws IOException {
+            throw new IOException("failed");
+        }
+    }
+
+    @Test
+    public void givenTieredFactory_whenBelowThreshold_thenInterpreted() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        TieredClassContainer<Origin, Wrapper> classContainer = createTieredClassContainer(10);
+        Origin origin = new Origin();
+
+        // when
+        Wrapper wrapper = classContainer.apply(origin);
+
+        // then
+        assertTrue(Proxy.isProxyClass(wrapper.getClass()));
+        assertEquals("10 Hello", wrapper.concat("Hello", 10L));
+        assertEquals("origin", wrapper.getName());
+        assertSame(origin, wrapper.getOrigin());
+        assertFalse(classContainer.isPromoted());
+    }
+
+    @Test
+    public void givenTieredFactory_whenThresholdReached_thenGenerated() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        TieredClassContainer<Origin, Wrapper> classContainer = createTieredClassContainer(3);
+        Wrapper interpreted = classContainer.apply(new Origin());
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            interpreted.getName();
+        }
+        Wrapper generated = classContainer.apply(new Origin());
+
+        // then
+        assertTrue(classContainer.isPromoted());
+        assertFalse(Proxy.isProxyClass(generated.getClass()));
+        assertEquals("1 World", generated.concat("World", 1L));
+        assertEquals("2 Again", interpreted.concat("Again", 2L));
+    }
+
+    @Test
+    public void givenWrapperClass_whenBuildTiered_thenGeneratedRightAway() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<ClassFactoryTest.WrapperImpl> classFactory
+                = new ClassFactory.Builder<>(ClassFactoryTest.WrapperImpl.class)
+                .build();
+
+        // when
+        Function<Origin, ClassFactoryTest.WrapperImpl> classContainer
+                = classFactory.buildTieredWrapperFactory(Origin.class, 3, null);
+
+        // then
+        assertFalse(classContainer instanceof TieredClassContainer);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void givenFailingOrigin_whenPromoted_thenSameException() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<FailingWrapper> classFactory = new ClassFactory.Builder<>(FailingWrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        FailingWrapper.class.getMethod("getName"),
+                        String.class)
+                        .setMarkerAnnotation(Name.class)
+                        .build())
+                .build();
+        TieredClassContainer<FailingOrigin, FailingWrapper> classContainer
+                = (TieredClassContainer<FailingOrigin, FailingWrapper>) classFactory
+                .buildTieredWrapperFactory(FailingOrigin.class, 1, null);
+        FailingWrapper interpreted = classContainer.apply(new FailingOrigin());
+
+        // when
+        Exception interpretedException = getNameException(interpreted);
+        FailingWrapper generated = classContainer.apply(new FailingOrigin());
+        Exception generatedException = getNameException(generated);
+        Exception delegatedException = getNameException(interpreted);
+
+        // then
+        assertTrue(classContainer.isPromoted());
+        assertFalse(Proxy.isProxyClass(generated.getClass()));
+        assertEquals(IOException.class, interpretedException.getClass());
+        assertEquals(IOException.class, generatedException.getClass());
+        assertEquals(IOException.class, delegatedException.getClass());
+        assertEquals("failed", interpretedException.getMessage());
+    }
+
+    @Test
+    public void givenUndeclaredCheckedException_whenBuildTiered_thenGeneratedRightAway()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getName"),
+                        String.class)
+                        .setMarkerAnnotation(Name.class)
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("concat", String.class, Long.class),
+                        String.class)
+                        .setMarkerAnnotation(Concat.class)
+                        .setDefaultValue("")
+                        .build())
+                .build();
+
+        // when
+        Function<FailingOrigin, Wrapper> classContainer
+                = classFactory.buildTieredWrapperFactory(FailingOrigin.class, 3, null);
+
+        // then
+        assertFalse(classContainer instanceof TieredClassContainer);
+    }
+
+    private static Exception getNameException(FailingWrapper wrapper) {
+        try {
+            wrapper.getName();
+        } catch (Exception ex) {
+            return ex;
+        }
+        throw new AssertionError("No exception thrown");
+    }
+
+    @SuppressWarnings("unchecked")
+    private TieredClassContainer<Origin, Wrapper> createTieredClassContainer(int promotionThreshold)
+            throws ReflectiveOperationException, ClassGeneratorException {
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("concat", String.class, Long.class),
+                        String.class)
+                        .setMarkerAnnotation(Concat.class)
+                        .parameterSource(Long.class, 1)
+                        .applyToAnnotated(First.class)
+                        .finishParameterDescription()
+                        .parameterSource(String.class, 0)
+                        .applyToTyped(String.class)
+                        .finishParameterDescription()
+                        .build())
+                .addMethodDescriptor(new MethodSingletonDescriptor.Builder<>(
+                        Wrapper.class.getMethod("getName"),
+                        String.class)
+                        .setMarkerAnnotation(Name.class)
+                        .build())
+                .build();
+        return (TieredClassContainer<Origin, Wrapper>) classFactory
+                .buildTieredWrapperFactory(Origin.class, promotionThreshold, null);
+    }
+}
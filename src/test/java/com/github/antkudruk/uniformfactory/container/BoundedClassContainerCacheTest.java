@@ -0,0 +1,58 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class BoundedClassContainerCacheTest {
+
+    public interface Wrapper {
+
+    }
+
+    public static class Type0 {
+
+    }
+
+    public static class Type1 {
+
+    }
+
+    public static class Type2 {
+
+    }
+
+    @Test
+    public void givenFullCache_whenPut_thenEvictLeastRecentlyUsed() {
+        // given
+        Function<Type0, Wrapper> container0 = mock(Function.class);
+        Function<Type1, Wrapper> container1 = mock(Function.class);
+        Function<Type2, Wrapper> container2 = mock(Function.class);
+        BoundedClassContainerCache<Wrapper> testSubject = new BoundedClassContainerCache<>(2);
+        testSubject.put(Type0.class, container0);
+        testSubject.put(Type1.class, container1);
+        testSubject.get(Type0.class);
+
+        // when
+        testSubject.put(Type2.class, container2);
+
+        // then
+        assertEquals(2, testSubject.size());
+        assertSame(container0, testSubject.get(Type0.class));
+        assertNull(testSubject.get(Type1.class));
+        assertSame(container2, testSubject.get(Type2.class));
+        assertEquals(3, testSubject.getHitCount());
+        assertEquals(3, testSubject.getMissCount());
+        assertEquals(1, testSubject.getEvictionCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenZeroSize_whenNew_thenThrow() {
+        new BoundedClassContainerCache<Wrapper>(0);
+    }
+}
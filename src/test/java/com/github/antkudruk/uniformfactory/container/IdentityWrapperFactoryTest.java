@@ -0,0 +1,76 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class IdentityWrapperFactoryTest {
+
+    public static class Origin {
+
+    }
+
+    public static class Wrapper {
+        private final Object origin;
+
+        Wrapper(Object origin) {
+            this.origin = origin;
+        }
+    }
+
+    private static class CountingWrapperFactory implements WrapperFactory<Wrapper> {
+        private int count;
+
+        @Override
+        public <E> Wrapper get(E object) {
+            count++;
+            return new Wrapper(object);
+        }
+    }
+
+    @Test
+    public void givenSameOrigin_whenGet_thenSameWrapper() throws ClassGeneratorException {
+        // given
+        CountingWrapperFactory wrapperFactory = new CountingWrapperFactory();
+        IdentityWrapperFactory<Wrapper> testSubject = new IdentityWrapperFactory<>(wrapperFactory);
+        Origin origin = new Origin();
+
+        // when
+        Wrapper first = testSubject.get(origin);
+        Wrapper second = testSubject.get(origin);
+
+        // then
+        assertSame(first, second);
+        assertSame(origin, first.origin);
+        assertEquals(1, wrapperFactory.count);
+    }
+
+    @Test
+    public void givenManyOrigins_whenGet_thenWrapperPerOrigin() throws ClassGeneratorException {
+        // given
+        CountingWrapperFactory wrapperFactory = new CountingWrapperFactory();
+        IdentityWrapperFactory<Wrapper> testSubject = new IdentityWrapperFactory<>(wrapperFactory);
+        List<Origin> origins = new ArrayList<>();
+        List<Wrapper> wrappers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Origin origin = new Origin();
+            origins.add(origin);
+            wrappers.add(testSubject.get(origin));
+        }
+
+        // when
+        for (int i = 0; i < origins.size(); i++) {
+            assertSame(wrappers.get(i), testSubject.get(origins.get(i)));
+        }
+
+        // then
+        assertNotSame(wrappers.get(0), wrappers.get(1));
+        assertEquals(1000, wrapperFactory.count);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.antkudruk.uniformfactory.container;
+
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OriginClassScannerTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface ScannerMarker {
+
+    }
+
+    @ScannerMarker
+    public static class MarkedOrigin0 {
+
+    }
+
+    @ScannerMarker
+    public static class MarkedOrigin1 {
+
+    }
+
+    @ScannerMarker
+    public static abstract class MarkedAbstractOrigin {
+
+    }
+
+    public static class NotMarkedOrigin {
+
+    }
+
+    private final OriginClassScanner testSubject = new OriginClassScanner(
+            getClass().getClassLoader(),
+            type -> type.getDeclaredAnnotations().isAnnotationPresent(ScannerMarker.class));
+
+    @Test
+    public void givenMarkedClasses_whenScan_thenFindMarkedClasses() throws Exception {
+        // when
+        Collection<String> result = testSubject.scan(getClass().getPackage().getName());
+
+        // then
+        assertEquals(
+                new HashSet<>(Arrays.asList(MarkedOrigin0.class.getName(), MarkedOrigin1.class.getName())),
+                new HashSet<>(result));
+    }
+
+    @Test
+    public void givenMarkedClasses_whenPrewarm_thenPrewarmMarkedClasses() throws Exception {
+        // given
+        WrapperFactory<?> wrapperFactory = mock(WrapperFactory.class);
+        when(wrapperFactory.prewarm(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        PrewarmReport result = testSubject.prewarm(wrapperFactory, getClass().getPackage().getName()).get();
+
+        // then
+        assertEquals(2, result.getOriginClassCount());
+        verify(wrapperFactory).prewarm(any());
+    }
+}
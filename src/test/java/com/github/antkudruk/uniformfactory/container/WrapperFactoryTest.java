@@ -2,14 +2,31 @@ package com.github.antkudruk.uniformfactory.container;
 
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import org.junit.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -82,4 +99,243 @@ public class WrapperFactoryTest {
         assertEquals(gameObjectsForClass1Container, classContainers.get(Type1.class));
         verify(gameObjectsForClass1Container, times(1)).apply(eq(gameObject));
     }
+
+    @Test
+    public void givenConcurrentRequests_whenGetSameClass_thenGenerateOnce() throws Exception {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        Function<Type1, Wrapper> wrapperForClass1Container = mock(Function.class);
+        when(wrapperForClass1Container.apply(any())).thenReturn(wrapper);
+        CountDownLatch generationStarted = new CountDownLatch(1);
+        CountDownLatch generationReleased = new CountDownLatch(1);
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        when(containerFactory.buildWrapperFactory(Type1.class)).thenAnswer(invocation -> {
+            generationStarted.countDown();
+            generationReleased.await();
+            return wrapperForClass1Container;
+        });
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl<>(
+                containerFactory,
+                new ConcurrentHashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<Wrapper> first = executor.submit(() -> testSubject.get(new Type1()));
+        generationStarted.await();
+        Future<Wrapper> second = executor.submit(() -> testSubject.get(new Type1()));
+        generationReleased.countDown();
+
+        // then
+        assertEquals(wrapper, first.get());
+        assertEquals(wrapper, second.get());
+        verify(containerFactory, times(1)).buildWrapperFactory(Type1.class);
+        executor.shutdown();
+    }
+
+    @Test
+    public void givenClassValueCache_whenGetTwice_thenGenerateOnce() throws ClassGeneratorException {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        Function<Type1, Wrapper> wrapperForClass1Container = mock(Function.class);
+        when(wrapperForClass1Container.apply(any())).thenReturn(wrapper);
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        when(containerFactory.buildWrapperFactory(Type1.class)).thenReturn(wrapperForClass1Container);
+        ClassValueClassContainerCache<Wrapper> cache = new ClassValueClassContainerCache<>();
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl<>(containerFactory, cache);
+
+        // when
+        testSubject.get(new Type1());
+        Wrapper result = testSubject.get(new Type1());
+
+        // then
+        assertEquals(wrapper, result);
+        assertEquals(wrapperForClass1Container, cache.get(Type1.class));
+        verify(containerFactory, times(1)).buildWrapperFactory(Type1.class);
+    }
+
+    @Test
+    public void givenClassValueCache_whenOriginClassDropped_thenCollectOriginClass()
+            throws ReflectiveOperationException, ClassGeneratorException, InterruptedException {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        // Not a mock, so that no recorded invocation refers to the origin class
+        ClassFactory<Wrapper> containerFactory = new ClassFactory<Wrapper>(new ClassFactory.Builder<>(Wrapper.class)) {
+            @Override
+            public <S> Function<S, Wrapper> buildWrapperFactory(Class<S> originClass) {
+                return t -> wrapper;
+            }
+        };
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl<>(
+                containerFactory,
+                new ClassValueClassContainerCache<>());
+        WeakReference<Class<?>> originClass = wrapOriginOfNewClass(testSubject);
+
+        // when
+        for (int i = 0; i < 50 && originClass.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        // then
+        assertNull(originClass.get());
+    }
+
+    private static WeakReference<Class<?>> wrapOriginOfNewClass(WrapperFactoryImpl<Wrapper> wrapperFactory)
+            throws ReflectiveOperationException, ClassGeneratorException {
+        Class<?> originClass = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(null, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        wrapperFactory.get(originClass.getConstructor().newInstance());
+        return new WeakReference<>(originClass);
+    }
+
+    @Test
+    public void givenRunsOfSameClass_whenWrapAll_thenResolveOncePerClass() throws ClassGeneratorException {
+        // given
+        Wrapper wrapper0 = mock(Wrapper.class);
+        Wrapper wrapper1 = mock(Wrapper.class);
+        Function<Type0, Wrapper> container0 = t -> wrapper0;
+        Function<Type1, Wrapper> container1 = t -> wrapper1;
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        when(containerFactory.buildWrapperFactory(Type0.class)).thenReturn(container0);
+        when(containerFactory.buildWrapperFactory(Type1.class)).thenReturn(container1);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl<>(containerFactory, new HashMap<>());
+        Object[] origins = {new Type0(), new Type0(), new Type1(), new Type1(), new Type0()};
+
+        // when
+        List<Wrapper> listResult = testSubject.wrapAll(Arrays.asList(origins));
+        Wrapper[] arrayResult = testSubject.wrapAll(origins, new Wrapper[0]);
+
+        // then
+        List<Wrapper> expected = Arrays.asList(wrapper0, wrapper0, wrapper1, wrapper1, wrapper0);
+        assertEquals(expected, listResult);
+        assertEquals(expected, Arrays.asList(arrayResult));
+        verify(containerFactory, times(1)).buildWrapperFactory(Type0.class);
+        verify(containerFactory, times(1)).buildWrapperFactory(Type1.class);
+    }
+
+    @Test
+    public void givenSizedSpliterator_whenWrapAll_thenKeepSize() throws ClassGeneratorException {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        Function<Type0, Wrapper> container = t -> wrapper;
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        when(containerFactory.buildWrapperFactory(Type0.class)).thenReturn(container);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl<>(containerFactory, new HashMap<>());
+        List<Type0> origins = Arrays.asList(new Type0(), new Type0(), new Type0(), new Type0());
+
+        // when
+        Spliterator<Wrapper> result = testSubject.wrapAll(origins.spliterator());
+
+        // then
+        assertTrue(result.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(4, result.estimateSize());
+        assertEquals(4, testSubject.wrapAll(origins.parallelStream()).filter(wrapper::equals).count());
+    }
+
+    @Test
+    public void givenInlineCache_whenGetSameClass_thenSkipClassContainerCache() throws ClassGeneratorException {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        Function<Type0, Wrapper> container = t -> wrapper;
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        ClassContainerCache<Wrapper> cache = mock(ClassContainerCache.class);
+        doReturn(container).when(cache).get(Type0.class);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl.Builder<>(containerFactory)
+                .setClassContainerCache(cache)
+                .setInlineCacheSize(2)
+                .build();
+
+        // when
+        testSubject.get(new Type0());
+        Wrapper result = testSubject.get(new Type0());
+
+        // then
+        assertEquals(wrapper, result);
+        verify(cache, times(1)).get(Type0.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenNoInlineCache_whenGetManyTimes_thenEveryLookupReachesClassContainerCache()
+            throws ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        doReturn((Function<Type0, Wrapper>) t -> mock(Wrapper.class))
+                .when(containerFactory).buildWrapperFactory(Type0.class);
+        doReturn((Function<Type1, Wrapper>) t -> mock(Wrapper.class))
+                .when(containerFactory).buildWrapperFactory(Type1.class);
+        BoundedClassContainerCache<Wrapper> cache = new BoundedClassContainerCache<>(10);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl.Builder<>(containerFactory)
+                .setClassContainerCache(cache)
+                .build();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            testSubject.getClassContainer(Type0.class);
+            testSubject.getClassContainer(Type1.class);
+        }
+
+        // then
+        assertEquals(2, cache.getMissCount());
+        assertEquals(198, cache.getHitCount());
+    }
+
+    @Test
+    public void givenInlineCacheOfTwo_whenAlternateTwoClasses_thenReturnMatchingWrappers()
+            throws ClassGeneratorException {
+        // given
+        Wrapper wrapper0 = mock(Wrapper.class);
+        Wrapper wrapper1 = mock(Wrapper.class);
+        Map<Class<?>, Function<?, Wrapper>> classContainers = new HashMap<>();
+        classContainers.put(Type0.class, (Function<Type0, Wrapper>) t -> wrapper0);
+        classContainers.put(Type1.class, (Function<Type1, Wrapper>) t -> wrapper1);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl.Builder<>(mock(ClassFactory.class))
+                .setClassContainerCache(new MapClassContainerCache<>(classContainers))
+                .setInlineCacheSize(2)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            // when
+            Wrapper result0 = testSubject.get(new Type0());
+            Wrapper result1 = testSubject.get(new Type1());
+
+            // then
+            assertEquals(wrapper0, result0);
+            assertEquals(wrapper1, result1);
+        }
+    }
+
+    @Test
+    public void givenPrewarmInProgress_whenGet_thenJoinGeneration() throws Exception {
+        // given
+        Wrapper wrapper = mock(Wrapper.class);
+        Function<Type1, Wrapper> wrapperForClass1Container = t -> wrapper;
+        CountDownLatch generationStarted = new CountDownLatch(1);
+        CountDownLatch generationReleased = new CountDownLatch(1);
+        ClassFactory<Wrapper> containerFactory = mock(ClassFactory.class);
+        when(containerFactory.buildWrapperFactory(Type1.class)).thenAnswer(invocation -> {
+            generationStarted.countDown();
+            generationReleased.await();
+            return wrapperForClass1Container;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        WrapperFactoryImpl<Wrapper> testSubject = new WrapperFactoryImpl.Builder<>(containerFactory)
+                .setExecutor(executor)
+                .build();
+
+        // when
+        CompletableFuture<Void> prewarm = testSubject.prewarm(Collections.singletonList(Type1.class));
+        generationStarted.await();
+        Future<Wrapper> result = executor.submit(() -> testSubject.get(new Type1()));
+        generationReleased.countDown();
+
+        // then
+        prewarm.get();
+        assertEquals(wrapper, result.get());
+        verify(containerFactory, times(1)).buildWrapperFactory(Type1.class);
+        executor.shutdown();
+    }
 }
@@ -0,0 +1,43 @@
+package com.github.antkudruk.uniformfactory.methodcollection;
+
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+public class ElementBuildsTest {
+
+    @Test(timeout = 10000)
+    public void givenSingleThreadExecutor_whenNestedBuilds_thenBuiltInWorkerThread() throws ClassGeneratorException {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Map<Object, ElementBuilds.ElementBuild<String>> builds = new LinkedHashMap<>();
+        for (String member : Arrays.asList("a", "b")) {
+            builds.put(member, () -> String.join("", ElementBuilds.buildAll(executor, nestedBuilds(member))));
+        }
+
+        try {
+            // when
+            List<String> results = ElementBuilds.buildAll(executor, builds);
+
+            // then
+            assertEquals(Arrays.asList("a1a2", "b1b2"), results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Object, ElementBuilds.ElementBuild<String>> nestedBuilds(String member) {
+        Map<Object, ElementBuilds.ElementBuild<String>> builds = new LinkedHashMap<>();
+        builds.put(member + 1, () -> member + 1);
+        builds.put(member + 2, () -> member + 2);
+        return builds;
+    }
+}
@@ -14,14 +14,19 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 public class MethodListTest {
 
@@ -237,4 +242,95 @@ public class MethodListTest {
         new MethodListDescriptor.Builder<>(Fun.class, WrapperOfMaps.class.getMethod("getFunctionsList"))
                 .build();
     }
+
+    @Test
+    public void givenSameDescription_whenBuildTwice_thenSameBytecode() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        TypeDescription originType = new TypeDescription.ForLoadedType(OriginImpl.class);
+
+        // when
+        Map<String, byte[]> first = getBytecode(createClassFactory().build(originType).getAllTypes());
+        Map<String, byte[]> second = getBytecode(createClassFactory().build(originType).getAllTypes());
+
+        // then
+        assertEquals(first.keySet(), second.keySet());
+        first.forEach((name, bytes) -> assertTrue(name, Arrays.equals(bytes, second.get(name))));
+    }
+
+    @Test
+    public void givenExecutor_whenBuildInParallel_thenElementsInDeclarationOrder()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        OriginImpl origin = new OriginImpl();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            List<String> serial = getValues(createClassFactory(null), origin);
+            List<String> parallel = getValues(createClassFactory(executor), origin);
+
+            // then
+            assertEquals(serial, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void givenExecutor_whenBuildTwice_thenSameBytecode() throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        TypeDescription originType = new TypeDescription.ForLoadedType(OriginImpl.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            Map<String, byte[]> first = getBytecode(createClassFactory(executor).build(originType).getAllTypes());
+            Map<String, byte[]> second = getBytecode(createClassFactory(executor).build(originType).getAllTypes());
+
+            // then
+            assertEquals(first.keySet(), second.keySet());
+            first.forEach((name, bytes) -> assertTrue(name, Arrays.equals(bytes, second.get(name))));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> getValues(ClassFactory<Wrapper> classFactory, OriginImpl origin)
+            throws ClassGeneratorException {
+        return classFactory.buildWrapperFactory(OriginImpl.class)
+                .apply(origin)
+                .getFunctionsList()
+                .stream()
+                .map(t -> t.getId("Foo", 10L))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, byte[]> getBytecode(Map<TypeDescription, byte[]> types) {
+        return types.entrySet()
+                .stream()
+                .collect(Collectors.toMap(t -> t.getKey().getName(), Map.Entry::getValue));
+    }
+
+    private static ClassFactory<Wrapper> createClassFactory() throws ReflectiveOperationException {
+        return createClassFactory(null);
+    }
+
+    private static ClassFactory<Wrapper> createClassFactory(Executor executor) throws ReflectiveOperationException {
+        return new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodListDescriptor.Builder<>(
+                        Fun.class, Wrapper.class.getMethod("getFunctionsList"))
+                        .defaultElementSource()
+                        .setMarkerAnnotation(MethodMarker.class)
+                        .setExecutor(executor)
+                        .getterElementFactory(String.class)
+                        .constantSource("Value")
+                        .applyToTyped(String.class)
+                        .constantSource(10)
+                        .applyToAnnotated(Index.class)
+                        .finishElementFactory()
+                        .endElementSource()
+                        .build()
+                )
+                .build();
+    }
 }
@@ -16,6 +16,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import static junit.framework.TestCase.assertEquals;
@@ -76,6 +78,23 @@ public class MethodMapTest {
         List<Fun> getFunctionsList();
     }
 
+    public interface Named {
+        String getName();
+    }
+
+    public interface WrapperOfTwoMaps {
+        Map<String, Named> one();
+        Map<String, Named> two();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Counter {
+        @MethodMarker("count")
+        public Long getCount() {
+            return 1L;
+        }
+    }
+
     @Test
     public void test() throws ReflectiveOperationException, ClassGeneratorException {
         OriginImpl origin = new OriginImpl();
@@ -210,6 +229,126 @@ public class MethodMapTest {
         assertEquals("Epsilon", map.get("epsilon").getId("Foo", 10L));
     }
 
+    @Test
+    public void givenDispatching_whenGetFunctions_thenSingleElementClass()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        OriginImpl origin = new OriginImpl();
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(
+                        new MethodMapDescriptor.Builder<>(Fun.class,
+                                Wrapper.class.getMethod("getFunctionsList"))
+                                .annotationMapElementSource()
+                                .setMarkerAnnotation(MethodMarker.class, MethodMarker::value)
+                                .setDispatching(true)
+                                .getterElementFactory(String.class)
+                                .parameterSource(String.class, 0)
+                                .applyToAnnotated(Name.class)
+                                .finishParameterDescription()
+
+                                .parameterSource(Long.class, 1)
+                                .applyToAnnotated(Index.class)
+                                .addTranslator(Integer.class, Long::intValue)
+                                .finishParameterDescription()
+                                .finishElementFactory()
+                                .endElementSource()
+                                .build()
+                )
+                .build();
+
+        // when
+        Function<OriginImpl, Wrapper> wrapperFactory = classFactory.buildWrapperFactory(OriginImpl.class);
+        Map<String, Fun> map = wrapperFactory.apply(origin).getFunctionsList();
+
+        // then
+        assertEquals("Epsilon", map.get("epsilon").getId("Foo", 10L));
+        assertEquals("Foo 10", map.get("alpha").getId("Foo", 10L));
+        assertEquals("Foo Foo", map.get("beta").getId("Foo", 10L));
+        assertEquals("Empty", map.get("gamma").getId("Foo", 10L));
+        assertEquals("Foo 10", map.get("delta").getId("Foo", 10L));
+        assertEquals(1, map.values().stream().map(Object::getClass).distinct().count());
+    }
+
+    @Test
+    public void givenExecutor_whenGetFunctions_thenElementsBuiltInParallel()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        OriginImpl origin = new OriginImpl();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(
+                        new MethodMapDescriptor.Builder<>(Fun.class,
+                                Wrapper.class.getMethod("getFunctionsList"))
+                                .annotationMapElementSource()
+                                .setMarkerAnnotation(MethodMarker.class, MethodMarker::value)
+                                .setExecutor(executor)
+                                .getterElementFactory(String.class)
+                                .parameterSource(String.class, 0)
+                                .applyToAnnotated(Name.class)
+                                .finishParameterDescription()
+
+                                .parameterSource(Long.class, 1)
+                                .applyToAnnotated(Index.class)
+                                .addTranslator(Integer.class, Long::intValue)
+                                .finishParameterDescription()
+                                .finishElementFactory()
+                                .endElementSource()
+                                .build()
+                )
+                .build();
+
+        // when
+        Map<String, Fun> map;
+        try {
+            map = classFactory.buildWrapperFactory(OriginImpl.class).apply(origin).getFunctionsList();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertEquals("Epsilon", map.get("epsilon").getId("Foo", 10L));
+        assertEquals("Foo 10", map.get("alpha").getId("Foo", 10L));
+        assertEquals("Foo Foo", map.get("beta").getId("Foo", 10L));
+        assertEquals("Empty", map.get("gamma").getId("Foo", 10L));
+        assertEquals("Foo 10", map.get("delta").getId("Foo", 10L));
+    }
+
+    @Test
+    public void givenExecutorAndTwoMapsOverSameMember_whenGetMaps_thenEachMapHasOwnElementClass()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ClassFactory<WrapperOfTwoMaps> classFactory = new ClassFactory.Builder<>(WrapperOfTwoMaps.class)
+                .addMethodDescriptor(namedMap("one", executor))
+                .addMethodDescriptor(namedMap("two", executor))
+                .build();
+
+        // when
+        WrapperOfTwoMaps wrapper;
+        try {
+            wrapper = classFactory.buildWrapperFactory(Counter.class).apply(new Counter());
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertEquals("one1", wrapper.one().get("count").getName());
+        assertEquals("two1", wrapper.two().get("count").getName());
+    }
+
+    private static MethodMapDescriptor<Named> namedMap(String name, ExecutorService executor)
+            throws NoSuchMethodException {
+        return new MethodMapDescriptor.Builder<>(Named.class, WrapperOfTwoMaps.class.getMethod(name))
+                .annotationMapElementSource()
+                .setMarkerAnnotation(MethodMarker.class, MethodMarker::value)
+                .setExecutor(executor)
+                .getterElementFactory(String.class)
+                .addResultTranslator(Long.class, x -> name + x)
+                .finishElementFactory()
+                .endElementSource()
+                .build();
+    }
+
     @Test(expected = WrongTypeException.class)
     public void inappropriateMethodReturnType() throws ReflectiveOperationException {
         new MethodMapDescriptor.Builder<>(
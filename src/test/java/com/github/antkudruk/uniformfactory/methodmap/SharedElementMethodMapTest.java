@@ -0,0 +1,138 @@
+package com.github.antkudruk.uniformfactory.methodmap;
+
+import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
+import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.methodmap.descriptors.MethodMapDescriptor;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SharedElementMethodMapTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.METHOD, ElementType.FIELD})
+    public @interface Property {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Scale {
+    }
+
+    public interface Getter {
+        String get(Long scale);
+    }
+
+    public interface Setter {
+        void set(String value);
+    }
+
+    public interface Wrapper {
+        Map<String, Getter> getProperties();
+    }
+
+    public interface SetterWrapper {
+        Map<String, Setter> getSetters();
+    }
+
+    @SuppressWarnings("unused")
+    public static class Rectangle {
+        @Property("width")
+        private long width = 10L;
+
+        @Property("area")
+        public long getArea(@Scale Long scale) {
+            return width * 2 * scale;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Square {
+        @Property("width")
+        private long width = 3L;
+
+        @Property("name")
+        private String name = "Square";
+    }
+
+    @Test
+    public void givenSharedElements_whenGetProperties_thenSameElementClassForAllOrigins()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<Wrapper> classFactory = new ClassFactory.Builder<>(Wrapper.class)
+                .addMethodDescriptor(new MethodMapDescriptor.Builder<>(
+                        Getter.class,
+                        Wrapper.class.getMethod("getProperties"))
+                        .annotationMapElementSource()
+                        .setMarkerAnnotation(Property.class, Property::value)
+                        .getterElementFactory(String.class)
+                        .setShared(true)
+                        .addResultTranslator(Long.class, Object::toString)
+                        .parameterSource(Long.class, 0)
+                        .applyToAnnotated(Scale.class)
+                        .finishParameterDescription()
+                        .finishElementFactory()
+                        .endElementSource()
+                        .build())
+                .build();
+
+        // when
+        Map<String, Getter> rectangle = classFactory.buildWrapperFactory(Rectangle.class)
+                .apply(new Rectangle())
+                .getProperties();
+        Map<String, Getter> square = classFactory.buildWrapperFactory(Square.class)
+                .apply(new Square())
+                .getProperties();
+
+        // then
+        assertEquals("10", rectangle.get("width").get(1L));
+        assertEquals("60", rectangle.get("area").get(3L));
+        assertEquals("3", square.get("width").get(1L));
+        assertEquals("Square", square.get("name").get(1L));
+        assertSame(rectangle.get("width").getClass(), rectangle.get("area").getClass());
+        assertSame(rectangle.get("width").getClass(), square.get("width").getClass());
+    }
+
+    @Test
+    public void givenSharedSetters_whenSet_thenFieldsAreSet()
+            throws ReflectiveOperationException, ClassGeneratorException {
+        // given
+        ClassFactory<SetterWrapper> classFactory = new ClassFactory.Builder<>(SetterWrapper.class)
+                .addMethodDescriptor(new MethodMapDescriptor.Builder<>(
+                        Setter.class,
+                        SetterWrapper.class.getMethod("getSetters"))
+                        .annotationMapElementSource()
+                        .setMarkerAnnotation(Property.class, Property::value)
+                        .setterElementFactory()
+                        .setShared(true)
+                        .parameterSource(String.class, 0)
+                        .applyToAny()
+                        .addTranslator(Long.class, Long::parseLong)
+                        .finishParameterDescription()
+                        .finishElementFactory()
+                        .endElementSource()
+                        .build())
+                .build();
+        Square origin = new Square();
+
+        // when
+        Map<String, Setter> setters = classFactory.buildWrapperFactory(Square.class)
+                .apply(origin)
+                .getSetters();
+        setters.get("width").set("42");
+        setters.get("name").set("Box");
+
+        // then
+        assertEquals(42L, origin.width);
+        assertEquals("Box", origin.name);
+        assertSame(setters.get("width").getClass(), setters.get("name").getClass());
+    }
+}
@@ -2,6 +2,7 @@ package com.github.antkudruk.uniformfactory.methodmap.descriptors;
 
 import com.github.antkudruk.uniformfactory.classfactory.ClassFactory;
 import com.github.antkudruk.uniformfactory.exception.ClassGeneratorException;
+import com.github.antkudruk.uniformfactory.exception.DuplicateMapKeyException;
 import com.github.antkudruk.uniformfactory.methodcollection.ElementFactory;
 import com.github.antkudruk.uniformfactory.methodcollection.seletor.MemberSelector;
 import net.bytebuddy.description.field.FieldDescription;
@@ -16,11 +17,17 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -127,4 +134,48 @@ public class AnnotationMapElementSourceTest<F> {
         // when
         testedObject.memberEntries(origin);
     }
+
+    @Test
+    public void givenSharedMethodElement_whenEntries_thenResolvedOnce() throws ClassGeneratorException {
+        // given
+        Function<Object, F> sharedElement = t -> null;
+        when(elementFactory.getSharedMethodElement(eq(origin), eq(methodDescription)))
+                .thenReturn(Optional.of(sharedElement));
+
+        // when
+        MapElementEntries<F> result = testedObject.entries(origin);
+
+        // then
+        assertThat(result.getSharedEntries().get(METHOD_ADAPTOR_NAME), equalTo(sharedElement));
+        assertThat(result.getMemberEntries().get(FIELD_ADAPTOR_NAME), equalTo(fieldUnloaded));
+        assertFalse(result.getMemberEntries().containsKey(METHOD_ADAPTOR_NAME));
+        verify(elementFactory, times(1)).getSharedMethodElement(eq(origin), eq(methodDescription));
+        verify(elementFactory, never()).getMethodElement(eq(origin), eq(methodDescription));
+    }
+
+    @Test
+    public void givenDuplicateKeys_whenMemberEntries_thenLastMemberWins() throws ClassGeneratorException {
+        // given
+        when(fieldKeyGetter.apply(eq(fieldDescription))).thenReturn(METHOD_ADAPTOR_NAME);
+
+        // when
+        Map<String, DynamicType.Unloaded<? extends F>> result = testedObject.memberEntries(origin);
+
+        // then
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(METHOD_ADAPTOR_NAME), equalTo(fieldUnloaded));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test(expected = DuplicateMapKeyException.class)
+    public void givenDuplicateKeys_whenDispatcher_thenThrowDuplicateMapKeyException() throws ClassGeneratorException {
+        // given
+        AnnotationMapElementSource<F> dispatchingSource = new AnnotationMapElementSource<>(
+                methodKeyGetter, fieldKeyGetter, memberSelector, elementFactory, true, null);
+        when(elementFactory.getDispatcher(eq(origin), any(), any())).thenReturn(Optional.of(methodUnloaded));
+        when(fieldKeyGetter.apply(eq(fieldDescription))).thenReturn(METHOD_ADAPTOR_NAME);
+
+        // when
+        dispatchingSource.dispatcher(origin);
+    }
 }
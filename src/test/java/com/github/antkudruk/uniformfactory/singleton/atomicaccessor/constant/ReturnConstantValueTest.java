@@ -7,6 +7,7 @@ import org.junit.Test;
 import java.lang.reflect.Method;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 
 public class ReturnConstantValueTest {
 
@@ -36,4 +37,38 @@ public class ReturnConstantValueTest {
 
         assertEquals(testValue, result);
     }
+
+    @Test
+    public void givenValueWithIdentityToString_whenGenerateClass_thenNameDoesNotDependOnIdentity() {
+        // given
+        TypeDescription originType = new TypeDescription.ForLoadedType(OriginImpl.class);
+
+        // when
+        String name = ReturnConstantValue.INSTANCE.generateClass(originType, new Object())
+                .getTypeDescription()
+                .getName();
+        String otherName = ReturnConstantValue.INSTANCE.generateClass(originType, new Object())
+                .getTypeDescription()
+                .getName();
+
+        // then
+        assertEquals(name, otherName);
+    }
+
+    @Test
+    public void givenDifferentPrimitiveValues_whenGenerateClass_thenDifferentNames() {
+        // given
+        TypeDescription originType = new TypeDescription.ForLoadedType(OriginImpl.class);
+
+        // when
+        String name = ReturnConstantValue.INSTANCE.generateClass(originType, 1)
+                .getTypeDescription()
+                .getName();
+        String otherName = ReturnConstantValue.INSTANCE.generateClass(originType, 1L)
+                .getTypeDescription()
+                .getName();
+
+        // then
+        assertFalse(name.equals(otherName));
+    }
 }
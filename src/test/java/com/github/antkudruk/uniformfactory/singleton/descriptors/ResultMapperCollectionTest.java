@@ -181,4 +181,28 @@ public class ResultMapperCollectionTest {
 
         childMapper.getTranslatorOrThrow(new TypeDescription.ForLoadedType(Boolean.class));
     }
+
+    @Test
+    public void givenLongWrapperResult_whenIntOriginResult_thenWideningTranslator()
+            throws WrapperMethodTypesException {
+        // given
+        ResultMapperCollection<Long> resultMapperCollection = new ResultMapperCollection<>(long.class);
+
+        // when
+        Function<Integer, Long> translator = resultMapperCollection.getTranslatorOrThrow(
+                new TypeDescription.ForLoadedType(int.class));
+
+        // then
+        assertEquals(Long.valueOf(7L), translator.apply(7));
+    }
+
+    @Test(expected = WrapperMethodTypesException.class)
+    public void givenLongWrapperResult_whenIntegerOriginResult_thenNoWideningTranslator()
+            throws WrapperMethodTypesException {
+        // given
+        ResultMapperCollection<Long> resultMapperCollection = new ResultMapperCollection<>(long.class);
+
+        // when
+        resultMapperCollection.getTranslatorOrThrow(new TypeDescription.ForLoadedType(Integer.class));
+    }
 }
@@ -15,4 +15,9 @@ public class FakePartialDescriptor<T> implements PartialDescriptor {
     public MethodCall addWith(MethodCall methodCall) {
         return methodCall.with(constant);
     }
+
+    @Override
+    public Object getValue(Object[] wrapperArguments) {
+        return constant;
+    }
 }